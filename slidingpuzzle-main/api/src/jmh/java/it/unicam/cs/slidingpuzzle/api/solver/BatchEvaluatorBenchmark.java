@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the evaluation of a batch of boards one board at a time with
+ * {@link Heuristics} against the batch evaluators. Scores are boards per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchEvaluatorBenchmark {
+
+    private static final int BOARDS = 4096;
+
+    @Param({"3", "4", "5"})
+    public int size;
+
+    private int[][] boards;
+
+    private BoardBatch batch;
+
+    private final int[] manhattan = new int[BOARDS];
+
+    private final int[] conflicts = new int[BOARDS];
+
+    private final BatchEvaluator scalar = new ScalarBatchEvaluator();
+
+    private final BatchEvaluator vector = BatchEvaluator.create();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        boards = new int[BOARDS][];
+        batch = new BoardBatch(size, BOARDS);
+        for (int i = 0; i < BOARDS; i++) {
+            PuzzleBoard board = new PuzzleBoard(size);
+            board.shuffle(random, 500);
+            boards[i] = board.toArray();
+            batch.add(boards[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public void perBoard(Blackhole blackhole) {
+        for (int[] tiles : boards) {
+            blackhole.consume(Heuristics.manhattan(tiles, size));
+            blackhole.consume(Heuristics.linearConflicts(tiles, size));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int[] scalarBatch() {
+        scalar.evaluate(batch, manhattan, conflicts);
+        return conflicts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int[] vectorBatch() {
+        vector.evaluate(batch, manhattan, conflicts);
+        return conflicts;
+    }
+
+}
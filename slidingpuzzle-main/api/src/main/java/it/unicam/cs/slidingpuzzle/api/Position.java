@@ -144,28 +144,27 @@ public class Position {
      viene inizializzata per memorizzare temporaneamente le direzioni valide.
 
       VERIFICA DELLE DIREZIONI VALIDE
+      Una direzione indica il verso in cui si sposta la cella adiacente a quella vuota,
+     con le stesse regole usate da movingCell.
       1.Controllo per la Direzione UP:
-      Se la riga corrente è maggiore di 0 (row > 0), significa che la cella
-     non si trova già nella riga superiore della griglia e
-     quindi può essere mossa verso l'alto. La direzione SlidingDirection.UP
-     viene quindi aggiunta alla lista nextPositions.
+      Se la riga corrente è minore della dimensione della griglia meno uno
+     (row < size - 1), sotto la cella vuota c'è una cella che può salire.
+     La direzione SlidingDirection.UP viene quindi aggiunta alla lista nextPositions.
 
       2.Controllo per la Direzione DOWN:
-     Se la riga corrente è minore della dimensione della griglia meno uno
-     (row < size - 1), significa che la cella non si trova già nella riga inferiore
-     della griglia e quindi può essere mossa verso il basso. La direzione SlidingDirection.DOWN
-     viene quindi aggiunta alla lista nextPositions.
+     Se la riga corrente è maggiore di 0 (row > 0), sopra la cella vuota c'è una cella
+     che può scendere. La direzione SlidingDirection.DOWN viene quindi aggiunta
+     alla lista nextPositions.
 
      3.Controllo per la Direzione LEFT:
-     Se la colonna corrente è maggiore di 0 (column > 0),
-     significa che la cella non si trova già nella colonna più a sinistra della
-     griglia e quindi può essere mossa verso sinistra. La direzione SlidingDirection.LEFT
-     viene quindi aggiunta alla lista nextPositions.
+     Se la colonna corrente è minore della dimensione della griglia meno uno
+     (column < size - 1), a destra della cella vuota c'è una cella che può spostarsi
+     verso sinistra. La direzione SlidingDirection.LEFT viene quindi aggiunta
+     alla lista nextPositions.
 
       4.Controllo per la Direzione RIGHT:
-      Se la colonna corrente è minore della dimensione della griglia meno uno
-     (column < size - 1), significa che la cella non si trova già nella colonna più
-     a destra della griglia e quindi può essere mossa verso destra.
+      Se la colonna corrente è maggiore di 0 (column > 0), a sinistra della cella
+     vuota c'è una cella che può spostarsi verso destra.
      La direzione SlidingDirection.RIGHT viene quindi aggiunta alla lista nextPositions.
 
       CONVERSIONE DELLA LISTA IN ARRAY:
@@ -184,14 +183,16 @@ public class Position {
     public SlidingDirection[] enabledMoves() {
 
         LinkedList<SlidingDirection> nextPositions = new LinkedList<>();
-        if (row > 0)
-            nextPositions.add(SlidingDirection.UP);    // Cambiato da LEFT a UP
+        // Le condizioni devono coincidere con quelle di movingCell, altrimenti
+        // shuffle sceglie mosse che PuzzleBoard.move rifiuta.
         if (row < size - 1)
-            nextPositions.add(SlidingDirection.DOWN);  // Cambiato da RIGHT a DOWN
-        if (column > 0)
-            nextPositions.add(SlidingDirection.LEFT);  // Rimossa la condizione duplicata
+            nextPositions.add(SlidingDirection.UP);
+        if (row > 0)
+            nextPositions.add(SlidingDirection.DOWN);
         if (column < size - 1)
-            nextPositions.add(SlidingDirection.RIGHT); // Cambiato da UP a RIGHT
+            nextPositions.add(SlidingDirection.LEFT);
+        if (column > 0)
+            nextPositions.add(SlidingDirection.RIGHT);
 
         return nextPositions.toArray(new SlidingDirection[0]);
         /**
@@ -36,6 +36,11 @@ public class PuzzleBoard {
      */
     public static final int DEFAULT_SIZE = 4;
 
+    /**
+     * Largest size of a schema that can be packed in a long value.
+     */
+    public static final int MAX_PACKED_SIZE = 4;
+
     /**
      * An array used to store the state of this schema.
      */
@@ -67,6 +72,58 @@ public class PuzzleBoard {
         reset();
     }
 
+    /**
+     * Creates a new puzzle of the given size whose cells, listed row by row,
+     * contain the given values. The value 0 denotes the free cell.
+     *
+     * @param size the size of the created schema.
+     * @param tiles the values of the cells, listed row by row.
+     * @throws IllegalArgumentException if tiles is not a permutation of the
+     * values from 0 to size*size-1.
+     */
+    public PuzzleBoard(int size, int[] tiles) {
+        if (tiles.length != size*size) {
+            throw new IllegalArgumentException("Expected "+(size*size)+" cells, found "+tiles.length);
+        }
+        this.size = size;
+        this.cells = new int[size][size];
+        boolean[] seen = new boolean[tiles.length];
+        for(int i=0; i < tiles.length; i++) {
+            int n = tiles[i];
+            if ((n < 0)||(n >= tiles.length)||seen[n]) {
+                throw new IllegalArgumentException("Illegal or duplicated cell value "+n);
+            }
+            seen[n] = true;
+            Position p = new Position(i/size, i%size, size);
+            set(p, n);
+            if (n == 0) {
+                freeCell = p;
+            } else {
+                shufflingDegree += p.getDisorderDegree(n);
+            }
+        }
+    }
+
+    /**
+     * Creates a new puzzle of the given size from the value returned by {@link #pack()}.
+     *
+     * @param size the size of the created schema.
+     * @param packed the packed cells.
+     * @return the puzzle whose packed cells are the given ones.
+     * @throws IllegalArgumentException if size is greater than {@link #MAX_PACKED_SIZE}
+     * or the value does not represent a valid schema.
+     */
+    public static PuzzleBoard unpack(int size, long packed) {
+        if (size > MAX_PACKED_SIZE) {
+            throw new IllegalArgumentException("A schema of size "+size+" cannot be packed");
+        }
+        int[] tiles = new int[size*size];
+        for(int i=0; i < tiles.length; i++) {
+            tiles[i] = (int) (packed >>> (4*i)) & 0xF;
+        }
+        return new PuzzleBoard(size, tiles);
+    }
+
     /**
      * Resets the state of this schema.
      */
@@ -389,4 +446,38 @@ public class PuzzleBoard {
     public boolean solved() {
         return this.shufflingDegree==0;
     }
+
+    /**
+     * Returns the values of the cells of this schema, listed row by row.
+     *
+     * @return the values of the cells of this schema, listed row by row.
+     */
+    public int[] toArray() {
+        int[] tiles = new int[size*size];
+        for(int i=0; i < size; i++) {
+            System.arraycopy(cells[i], 0, tiles, i*size, size);
+        }
+        return tiles;
+    }
+
+    /**
+     * Returns the cells of this schema packed in a long value: the cell at row i and
+     * column j is stored in the four bits starting at bit 4*(i*size+j).
+     *
+     * @return the cells of this schema packed in a long value.
+     * @throws IllegalStateException if the size of this schema is greater than
+     * {@link #MAX_PACKED_SIZE}.
+     */
+    public long pack() {
+        if (size > MAX_PACKED_SIZE) {
+            throw new IllegalStateException("A schema of size "+size+" cannot be packed");
+        }
+        long packed = 0;
+        for(int i=0; i < size; i++) {
+            for(int j=0; j < size; j++) {
+                packed |= ((long) cells[i][j]) << (4*(i*size+j));
+            }
+        }
+        return packed;
+    }
 }
@@ -31,7 +31,7 @@ public enum SlidingDirection {
     LEFT,
     RIGHT;
 
-    SlidingDirection reverse() {
+    public SlidingDirection reverse() {
         return switch (this) {
             case UP -> DOWN;
             case DOWN -> UP;
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * Computes the Manhattan distance and the linear conflicts, as defined by
+ * {@link Heuristics}, of all the boards in a {@link BoardBatch}.
+ */
+public interface BatchEvaluator {
+
+    /**
+     * Evaluates the boards of the given batch.
+     *
+     * @param batch a batch of boards.
+     * @param manhattan filled with the Manhattan distances of the boards.
+     * @param conflicts filled with the linear conflicts of the boards.
+     */
+    void evaluate(BoardBatch batch, int[] manhattan, int[] conflicts);
+
+    /**
+     * Returns the fastest evaluator available: the one based on the vector API when
+     * the module jdk.incubator.vector is part of the running JVM, the scalar one
+     * otherwise. Both return the same values.
+     *
+     * @return the fastest evaluator available.
+     */
+    static BatchEvaluator create() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BatchEvaluator) Class.forName(BatchEvaluator.class.getPackageName() + ".VectorBatchEvaluator")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // fall back to the scalar evaluator
+            }
+        }
+        return new ScalarBatchEvaluator();
+    }
+
+}
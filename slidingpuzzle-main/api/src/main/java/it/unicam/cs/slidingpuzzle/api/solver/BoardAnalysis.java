@@ -0,0 +1,42 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * The result of the analysis of a board performed by {@link BoardAnalyzer}.
+ *
+ * @param size the size of the board.
+ * @param solvable true if the board can be solved.
+ * @param inversions the number of pairs of values in reverse order.
+ * @param manhattan the Manhattan distance of the board.
+ * @param linearConflicts the moves added to the Manhattan distance by linear conflicts.
+ * @param patternBound the estimate of the pattern database, 0 if there is none.
+ * @param score the difficulty of the board, that is the best of the lower bounds
+ *              on the number of moves needed to solve it, or -1 if it cannot be solved.
+ */
+public record BoardAnalysis(int size, boolean solvable, long inversions, int manhattan,
+                            int linearConflicts, int patternBound, int score) {
+}
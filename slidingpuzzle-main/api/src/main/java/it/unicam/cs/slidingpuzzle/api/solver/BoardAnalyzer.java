@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Tells whether boards can be solved and estimates how hard they are, so that they
+ * can be scheduled before running a solver.
+ */
+public final class BoardAnalyzer {
+
+    private BoardAnalyzer() {
+    }
+
+    /**
+     * Returns the number of pairs of values, free cell excluded, appearing in reverse
+     * order when the cells are listed row by row. Inversions are counted in
+     * O(n log n) with a Fenwick tree over the values seen so far.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @return the number of inversions of the board.
+     */
+    public static long inversions(int[] tiles) {
+        int[] tree = new int[tiles.length + 1];
+        long inversions = 0;
+        int seen = 0;
+        for (int n : tiles) {
+            if (n == 0) {
+                continue;
+            }
+            // values already seen that are not greater than n
+            int smaller = 0;
+            for (int i = n; i > 0; i -= i & -i) {
+                smaller += tree[i];
+            }
+            inversions += seen - smaller;
+            for (int i = n; i < tree.length; i += i & -i) {
+                tree[i]++;
+            }
+            seen++;
+        }
+        return inversions;
+    }
+
+    /**
+     * Returns true if the given board can be solved. With an odd size the number of
+     * inversions must be even; with an even size it must have the opposite parity of
+     * the row of the free cell counted from the bottom, starting from 1.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @return true if the board can be solved.
+     */
+    public static boolean isSolvable(int[] tiles, int size) {
+        long inversions = inversions(tiles);
+        if (size % 2 == 1) {
+            return inversions % 2 == 0;
+        }
+        int rowFromBottom = size - Moves.blank(tiles) / size;
+        return (inversions + rowFromBottom) % 2 == 1;
+    }
+
+    /**
+     * Returns true if the given board can be solved.
+     *
+     * @param board a board.
+     * @return true if the board can be solved.
+     */
+    public static boolean isSolvable(PuzzleBoard board) {
+        return isSolvable(board.toArray(), board.getSize());
+    }
+
+    /**
+     * Analyzes the given board.
+     *
+     * @param board a board, which is not modified.
+     * @return the analysis of the board.
+     */
+    public static BoardAnalysis analyze(PuzzleBoard board) {
+        return analyze(board.toArray(), board.getSize());
+    }
+
+    /**
+     * Analyzes the given board.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @return the analysis of the board.
+     */
+    public static BoardAnalysis analyze(int[] tiles, int size) {
+        long inversions = inversions(tiles);
+        boolean solvable = isSolvable(tiles, size);
+        int manhattan = Heuristics.manhattan(tiles, size);
+        int conflicts = Heuristics.linearConflicts(tiles, size);
+        PatternDatabase database = PatternDatabase.forSize(size);
+        int patternBound = (database == null ? 0 : database.estimate(tiles));
+        int score = (solvable ? Math.max(manhattan + conflicts, patternBound) : -1);
+        return new BoardAnalysis(size, solvable, inversions, manhattan, conflicts, patternBound, score);
+    }
+
+    /**
+     * Analyzes the given boards in parallel.
+     *
+     * @param boards the boards to analyze, which must not be modified meanwhile.
+     * @return the analyses of the boards, in the same order.
+     */
+    public static BoardAnalysis[] analyzeAll(List<PuzzleBoard> boards) {
+        return boards.parallelStream()
+                .map(BoardAnalyzer::analyze)
+                .toArray(BoardAnalysis[]::new);
+    }
+
+    /**
+     * Analyzes the given boards in parallel and returns their indices from the hardest
+     * to the easiest. Boards that cannot be solved come last.
+     *
+     * @param boards the boards to rank, which must not be modified meanwhile.
+     * @return the indices of the boards sorted by decreasing difficulty.
+     */
+    public static int[] rank(List<PuzzleBoard> boards) {
+        BoardAnalysis[] analyses = analyzeAll(boards);
+        return IntStream.range(0, analyses.length)
+                .boxed()
+                .parallel()
+                .sorted(Comparator.comparingInt((Integer i) -> analyses[i].score()).reversed())
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+}
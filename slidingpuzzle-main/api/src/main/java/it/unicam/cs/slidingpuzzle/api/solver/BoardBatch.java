@@ -0,0 +1,122 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * A batch of boards of the same size stored as a structure of arrays: for each cell
+ * an array holds the value of that cell in every board of the batch.
+ */
+public class BoardBatch {
+
+    private final int size;
+
+    private final int[][] cells;
+
+    private int count;
+
+    /**
+     * Creates an empty batch.
+     *
+     * @param size the size of the boards.
+     * @param capacity the maximum number of boards in the batch.
+     */
+    public BoardBatch(int size, int capacity) {
+        this.size = size;
+        this.cells = new int[size * size][capacity];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of boards in the batch.
+     *
+     * @return the number of boards in the batch.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return cells[0].length;
+    }
+
+    /**
+     * Adds a board to the batch.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @return the index of the board in the batch.
+     * @throws IllegalStateException if the batch is full.
+     */
+    public int add(int[] tiles) {
+        checkCapacity();
+        for (int c = 0; c < cells.length; c++) {
+            cells[c][count] = tiles[c];
+        }
+        return count++;
+    }
+
+    /**
+     * Adds a board packed by {@link Moves#pack(int[])} to the batch.
+     *
+     * @param packed the packed cells of a board.
+     * @return the index of the board in the batch.
+     * @throws IllegalStateException if the batch is full.
+     */
+    public int add(long packed) {
+        checkCapacity();
+        for (int c = 0; c < cells.length; c++) {
+            cells[c][count] = (int) (packed >>> (4 * c)) & 0xF;
+        }
+        return count++;
+    }
+
+    private void checkCapacity() {
+        if (count == getCapacity()) {
+            throw new IllegalStateException("The batch is full");
+        }
+    }
+
+    /**
+     * Removes all the boards from the batch.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * Returns the values of a cell in all the boards of the batch. The array is not
+     * copied.
+     *
+     * @param cell the index of a cell.
+     * @return the values of the cell in all the boards of the batch.
+     */
+    int[] cell(int cell) {
+        return cells[cell];
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of long values with small non negative integer priorities: one
+ * stack per priority. Among the values with the lowest priority, the last pushed
+ * is the first removed. The buckets are reserved from a {@link MemoryBudget}: when
+ * the budget cannot hold a larger bucket the value is not queued and
+ * {@link #push(int, long)} returns false.
+ */
+class BucketQueue {
+
+    private static final int INITIAL_BUCKETS = 64;
+
+    private static final int INITIAL_BUCKET_SIZE = 256;
+
+    private long[][] buckets = new long[INITIAL_BUCKETS][];
+
+    private int[] sizes = new int[INITIAL_BUCKETS];
+
+    private int min = Integer.MAX_VALUE;
+
+    private int size;
+
+    private final MemoryBudget budget;
+
+    /**
+     * Creates an empty queue. The initial index of the buckets is reserved whether or
+     * not it fits in the budget.
+     */
+    BucketQueue(MemoryBudget budget) {
+        this.budget = budget;
+        budget.charge(indexBytes(INITIAL_BUCKETS));
+    }
+
+    /**
+     * Queues the given value with the given priority.
+     *
+     * @return false if the value has not been queued because the budget cannot hold it.
+     */
+    boolean push(int priority, long value) {
+        if (priority >= buckets.length) {
+            int length = Math.max(priority + 1, buckets.length * 2);
+            if (!budget.reserve(indexBytes(length))) {
+                return false;
+            }
+            int previous = buckets.length;
+            buckets = Arrays.copyOf(buckets, length);
+            sizes = Arrays.copyOf(sizes, length);
+            budget.release(indexBytes(previous));
+        }
+        long[] bucket = buckets[priority];
+        if (bucket == null) {
+            if (!budget.reserve(INITIAL_BUCKET_SIZE * (long) Long.BYTES)) {
+                return false;
+            }
+            bucket = buckets[priority] = new long[INITIAL_BUCKET_SIZE];
+        } else if (sizes[priority] == bucket.length) {
+            if (!budget.reserve(bucket.length * 2L * Long.BYTES)) {
+                return false;
+            }
+            bucket = buckets[priority] = Arrays.copyOf(bucket, bucket.length * 2);
+            budget.release(bucket.length / 2 * (long) Long.BYTES);
+        }
+        bucket[sizes[priority]++] = value;
+        min = Math.min(min, priority);
+        size++;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the lowest priority of the queued values; the queue must not be empty.
+     */
+    int minPriority() {
+        while (sizes[min] == 0) {
+            min++;
+        }
+        return min;
+    }
+
+    /**
+     * Removes and returns a value with the lowest priority; the queue must not be empty.
+     */
+    long pop() {
+        int priority = minPriority();
+        size--;
+        return buckets[priority][--sizes[priority]];
+    }
+
+    /**
+     * Returns the bytes of an index of the given number of buckets: a reference and a
+     * size for each bucket, assuming compressed references.
+     */
+    private static long indexBytes(int length) {
+        return length * (long) (Integer.BYTES + Integer.BYTES);
+    }
+
+}
@@ -0,0 +1,260 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Finds optimal solutions with a fringe search that never re-expands a board unless
+ * it is reached with a lower cost, unlike {@link IdaStarSolver}. Boards are packed in
+ * long values (see {@link Moves#pack(int[])}): the fringe is kept in a
+ * {@link BucketQueue} indexed by the estimated cost f = g + h, where boards with the
+ * same f are expanded depth first, and the cost, estimate and last move of every
+ * reached board are kept in a {@link LongIntHashMap}.
+ * <p>
+ * Both structures reserve their arrays from a {@link MemoryBudget} before allocating
+ * them. When they would need more than the configured ceiling, counting the old and
+ * the new arrays while they are copied, or when the board cannot be packed, the search
+ * is restarted with an {@link IdaStarSolver}, whose memory does not grow with the
+ * number of boards.
+ * <p>
+ * An instance keeps the statistics of the last search and must not be shared among
+ * threads.
+ */
+public class FringeSolver implements Solver {
+
+    /**
+     * Default memory ceiling, in bytes.
+     */
+    public static final long DEFAULT_MEMORY_CEILING = 512L << 20;
+
+    /**
+     * Number of expanded nodes between two checks of cancellation.
+     */
+    private static final int CHECK_MASK = 0xFFF;
+
+    /**
+     * Move recorded for the initial board.
+     */
+    private static final int ROOT = 4;
+
+    private static final int ESTIMATE_BITS = 12;
+
+    private static final int ESTIMATE_MASK = (1 << ESTIMATE_BITS) - 1;
+
+    private final long memoryCeiling;
+
+    private final IdaStarSolver fallback = new IdaStarSolver();
+
+    private long nodes;
+
+    private long peakMemory;
+
+    private long elapsed;
+
+    private boolean exceeded;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new solver with the default memory ceiling.
+     */
+    public FringeSolver() {
+        this(DEFAULT_MEMORY_CEILING);
+    }
+
+    /**
+     * Creates a new solver with the given memory ceiling.
+     *
+     * @param memoryCeiling the number of bytes the search structures may use before
+     *                      switching to {@link IdaStarSolver}.
+     */
+    public FringeSolver(long memoryCeiling) {
+        this.memoryCeiling = memoryCeiling;
+    }
+
+    @Override
+    public SlidingDirection[] solve(int[] tiles, int size) {
+        if (!BoardAnalyzer.isSolvable(tiles, size)) {
+            throw new IllegalArgumentException("The board cannot be solved");
+        }
+        long start = System.nanoTime();
+        nodes = 0;
+        peakMemory = 0;
+        exceeded = (size > PuzzleBoard.MAX_PACKED_SIZE);
+        SlidingDirection[] result = null;
+        if (!exceeded) {
+            MemoryBudget budget = new MemoryBudget(memoryCeiling);
+            result = search(tiles, size, budget);
+            peakMemory = budget.peak();
+        }
+        if (exceeded) {
+            result = fallback.solve(tiles, size);
+            nodes += fallback.getNodes();
+        }
+        elapsed = System.nanoTime() - start;
+        return result;
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the largest number of bytes used by the search structures in the last
+     * search, including the arrays being replaced while they are copied. It does not
+     * exceed the memory ceiling, unless the ceiling is smaller than the initial
+     * structures.
+     *
+     * @return the peak memory of the last search.
+     */
+    public long getPeakMemoryBytes() {
+        return peakMemory;
+    }
+
+    /**
+     * Returns the duration of the last search, in nanoseconds.
+     *
+     * @return the duration of the last search.
+     */
+    public long getElapsedNanos() {
+        return elapsed;
+    }
+
+    /**
+     * Returns the number of nodes expanded per second in the last search.
+     *
+     * @return the number of nodes expanded per second in the last search.
+     */
+    public double getNodesPerSecond() {
+        return (elapsed == 0 ? 0 : nodes * 1e9 / elapsed);
+    }
+
+    /**
+     * Returns true if the last search has been completed by {@link IdaStarSolver}.
+     *
+     * @return true if the last search switched to iterative deepening.
+     */
+    public boolean usedFallback() {
+        return exceeded;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        fallback.cancel();
+    }
+
+    private SlidingDirection[] search(int[] tiles, int size, MemoryBudget budget) {
+        LongIntHashMap reached = new LongIntHashMap(1 << 16, budget);
+        BucketQueue fringe = new BucketQueue(budget);
+        int[] board = new int[tiles.length];
+        long root = Moves.pack(tiles);
+        int h0 = Heuristics.estimate(tiles, size);
+        reached.put(root, entry(0, h0, ROOT));
+        fringe.push(h0, root);
+        if (budget.used() > memoryCeiling) {
+            exceeded = true;
+            return null;
+        }
+        while (!fringe.isEmpty()) {
+            int f = fringe.minPriority();
+            long key = fringe.pop();
+            int entry = reached.get(key);
+            int g = entry >>> (ESTIMATE_BITS + 3);
+            int h = (entry >>> 3) & ESTIMATE_MASK;
+            if (g + h != f) {
+                // the board has been reached again with a lower cost
+                continue;
+            }
+            if (h == 0) {
+                return path(reached, key, size);
+            }
+            if (((++nodes & CHECK_MASK) == 0) && cancelled) {
+                return null;
+            }
+            Moves.unpack(key, board);
+            int blank = Moves.blank(board);
+            int previous = entry & 7;
+            for (int d = 0; d < 4; d++) {
+                if ((previous != ROOT) && ((previous ^ 1) == d)) {
+                    // directions come in opposite pairs: moving back cannot improve
+                    continue;
+                }
+                int cell = Moves.movingCell(blank, Moves.direction(d), size);
+                if (cell < 0) {
+                    continue;
+                }
+                long child = key & ~(0xFL << (4 * cell)) | ((long) board[cell] << (4 * blank));
+                int known = reached.get(child);
+                if ((known != LongIntHashMap.MISSING) && ((known >>> (ESTIMATE_BITS + 3)) <= g + 1)) {
+                    continue;
+                }
+                int childH = h + Heuristics.slideDelta(board, size, blank, cell);
+                if (!reached.put(child, entry(g + 1, childH, d)) || !fringe.push(g + 1 + childH, child)) {
+                    exceeded = true;
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int entry(int g, int h, int move) {
+        return (g << (ESTIMATE_BITS + 3)) | (h << 3) | move;
+    }
+
+    /**
+     * Rebuilds the moves leading to the given board by undoing the recorded moves.
+     */
+    private static SlidingDirection[] path(LongIntHashMap reached, long key, int size) {
+        Deque<SlidingDirection> path = new ArrayDeque<>();
+        for (int entry = reached.get(key); (entry & 7) != ROOT; entry = reached.get(key)) {
+            SlidingDirection dir = Moves.direction(entry & 7);
+            path.addFirst(dir);
+            int blank = blank(key, size);
+            int cell = Moves.movingCell(blank, dir.reverse(), size);
+            long n = (key >>> (4 * cell)) & 0xF;
+            key = key & ~(0xFL << (4 * cell)) | (n << (4 * blank));
+        }
+        return path.toArray(new SlidingDirection[0]);
+    }
+
+    private static int blank(long key, int size) {
+        for (int i = 0; i < size * size; i++) {
+            if (((key >>> (4 * i)) & 0xF) == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("The board has no free cell");
+    }
+
+}
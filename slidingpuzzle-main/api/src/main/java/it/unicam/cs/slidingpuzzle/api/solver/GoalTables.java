@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * Lookup tables of the goal position of each value, shared by the batch evaluators.
+ */
+final class GoalTables {
+
+    /**
+     * The goal row of each value, -1 for the free cell.
+     */
+    final int[] rows;
+
+    /**
+     * The goal column of each value, -1 for the free cell.
+     */
+    final int[] columns;
+
+    /**
+     * For each cell, the Manhattan distance of each value placed in it.
+     */
+    final int[][] distances;
+
+    GoalTables(int size) {
+        int cells = size * size;
+        rows = new int[cells];
+        columns = new int[cells];
+        distances = new int[cells][cells];
+        rows[0] = -1;
+        columns[0] = -1;
+        for (int n = 1; n < cells; n++) {
+            rows[n] = (n - 1) / size;
+            columns[n] = (n - 1) % size;
+        }
+        for (int c = 0; c < cells; c++) {
+            for (int n = 0; n < cells; n++) {
+                distances[c][n] = Heuristics.distance(c, n, size);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * Admissible estimates of the number of moves needed to solve a board stored as an
+ * array of cells listed row by row. The value n belongs to row (n-1)/size and column
+ * (n-1)%size, as in {@link it.unicam.cs.slidingpuzzle.api.Position#getDisorderDegree(int)}.
+ */
+public final class Heuristics {
+
+    /**
+     * Largest size of a board supported by the linear conflicts estimate.
+     */
+    public static final int MAX_CONFLICTS_SIZE = 15;
+
+    private Heuristics() {
+    }
+
+    /**
+     * Returns the sum of the Manhattan distances of the cells from their goal positions.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @return the Manhattan distance of the board.
+     */
+    public static int manhattan(int[] tiles, int size) {
+        int sum = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            sum += distance(i, tiles[i], size);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the Manhattan distance of the value n placed in the given cell, 0 for the
+     * free cell.
+     *
+     * @param cell the index of a cell.
+     * @param n a value.
+     * @param size the size of the board.
+     * @return the Manhattan distance of the value from its goal position.
+     */
+    public static int distance(int cell, int n, int size) {
+        if (n == 0) {
+            return 0;
+        }
+        return Math.abs(cell / size - (n - 1) / size) + Math.abs(cell % size - (n - 1) % size);
+    }
+
+    /**
+     * Returns the number of moves added to the Manhattan distance by linear conflicts
+     * in all the rows and columns of the board.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @return the linear conflicts estimate of the board.
+     */
+    public static int linearConflicts(int[] tiles, int size) {
+        int sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += rowConflicts(tiles, size, i) + columnConflicts(tiles, size, i);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the Manhattan distance plus the linear conflicts of the board.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @return an admissible estimate of the number of moves needed to solve the board.
+     */
+    public static int estimate(int[] tiles, int size) {
+        return manhattan(tiles, size) + linearConflicts(tiles, size);
+    }
+
+    /**
+     * Returns the variation of {@link #estimate(int[], int)} caused by moving the value
+     * in the given cell to the free cell. The board is left unchanged.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @param blank the index of the free cell.
+     * @param cell the index of a cell adjacent to the free cell.
+     * @return the variation of the estimate caused by the move.
+     */
+    public static int slideDelta(int[] tiles, int size, int blank, int cell) {
+        int n = tiles[cell];
+        int delta = distance(blank, n, size) - distance(cell, n, size);
+        // a vertical move changes the order of two rows, an horizontal one of two columns
+        boolean vertical = (cell / size != blank / size);
+        delta -= lineConflicts(tiles, size, vertical, cell, blank);
+        tiles[blank] = n;
+        tiles[cell] = 0;
+        delta += lineConflicts(tiles, size, vertical, cell, blank);
+        tiles[cell] = n;
+        tiles[blank] = 0;
+        return delta;
+    }
+
+    private static int lineConflicts(int[] tiles, int size, boolean rows, int cell, int blank) {
+        if (rows) {
+            return rowConflicts(tiles, size, cell / size) + rowConflicts(tiles, size, blank / size);
+        }
+        return columnConflicts(tiles, size, cell % size) + columnConflicts(tiles, size, blank % size);
+    }
+
+    /**
+     * Returns the linear conflicts of a row. The values placed in their goal row must
+     * keep their relative order to reach their goal columns: all but the longest
+     * increasing subsequence of them have to leave the row and come back, which costs
+     * two extra moves each.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @param row a row.
+     * @return the linear conflicts of the row.
+     */
+    public static int rowConflicts(int[] tiles, int size, int row) {
+        return conflicts(tiles, size, row * size, 1, row, true);
+    }
+
+    /**
+     * Returns the linear conflicts of a column, see {@link #rowConflicts(int[], int, int)}.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @param size the size of the board.
+     * @param column a column.
+     * @return the linear conflicts of the column.
+     */
+    public static int columnConflicts(int[] tiles, int size, int column) {
+        return conflicts(tiles, size, column, size, column, false);
+    }
+
+    private static int conflicts(int[] tiles, int size, int first, int step, int line, boolean row) {
+        if (size > MAX_CONFLICTS_SIZE) {
+            throw new IllegalArgumentException("Linear conflicts are supported up to size " + MAX_CONFLICTS_SIZE);
+        }
+        // goal coordinates along the line of the values belonging to the line, and the
+        // length of the longest increasing subsequence ending at each of them, packed
+        // four bits per entry to avoid allocating in the search loops
+        long goals = 0;
+        long lengths = 0;
+        int k = 0;
+        int longest = 0;
+        for (int i = 0, cell = first; i < size; i++, cell += step) {
+            int n = tiles[cell];
+            if ((n == 0) || ((row ? (n - 1) / size : (n - 1) % size) != line)) {
+                continue;
+            }
+            int goal = (row ? (n - 1) % size : (n - 1) / size);
+            int length = 1;
+            for (int j = 0; j < k; j++) {
+                if ((((goals >>> (4 * j)) & 0xF) < goal)) {
+                    length = Math.max(length, (int) ((lengths >>> (4 * j)) & 0xF) + 1);
+                }
+            }
+            goals |= ((long) goal) << (4 * k);
+            lengths |= ((long) length) << (4 * k);
+            longest = Math.max(longest, length);
+            k++;
+        }
+        return 2 * (k - longest);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.time.Duration;
+
+/**
+ * Suggests the next move to players. For 3x3 boards the optimal move is looked up in
+ * the {@link HintTable}; for larger boards an {@link IdaStarSolver} runs for a limited
+ * time and, when it gives up, the first move towards the most promising board met
+ * is suggested.
+ */
+public class HintOracle {
+
+    /**
+     * Default time limit of the search on boards larger than 3x3.
+     */
+    public static final Duration DEFAULT_TIME_LIMIT = Duration.ofMillis(50);
+
+    private final Duration timeLimit;
+
+    /**
+     * Creates a new oracle with the default time limit.
+     */
+    public HintOracle() {
+        this(DEFAULT_TIME_LIMIT);
+    }
+
+    /**
+     * Creates a new oracle with the given time limit.
+     *
+     * @param timeLimit time limit of the search on boards larger than 3x3.
+     */
+    public HintOracle(Duration timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Returns the suggested move for the given board.
+     *
+     * @param board a board, which is not modified.
+     * @return the suggested move, or null if the board is solved.
+     * @throws IllegalArgumentException if the board cannot be solved.
+     */
+    public SlidingDirection hint(PuzzleBoard board) {
+        if (board.solved()) {
+            return null;
+        }
+        int size = board.getSize();
+        int[] tiles = board.toArray();
+        if (size == HintTable.SIZE) {
+            return HintTable.get().bestMove(tiles);
+        }
+        IdaStarSolver solver = new IdaStarSolver(timeLimit);
+        SlidingDirection[] solution = solver.solve(tiles, size);
+        if (solution != null) {
+            return solution[0];
+        }
+        SlidingDirection[] best = solver.getBestPath();
+        return (best.length > 0 ? best[0] : greedyMove(tiles, size));
+    }
+
+    private static SlidingDirection greedyMove(int[] tiles, int size) {
+        int blank = Moves.blank(tiles);
+        SlidingDirection result = null;
+        int min = Integer.MAX_VALUE;
+        for (SlidingDirection dir : SlidingDirection.values()) {
+            int cell = Moves.movingCell(blank, dir, size);
+            if (cell < 0) {
+                continue;
+            }
+            tiles[blank] = tiles[cell];
+            tiles[cell] = 0;
+            int h = Heuristics.estimate(tiles, size);
+            tiles[cell] = tiles[blank];
+            tiles[blank] = 0;
+            if (h < min) {
+                min = h;
+                result = dir;
+            }
+        }
+        return result;
+    }
+
+}
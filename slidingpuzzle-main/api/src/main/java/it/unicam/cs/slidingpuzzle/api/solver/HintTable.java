@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The optimal move of every solvable 3x3 board, stored in two bits per board. The
+ * table is built at compile time by {@link #main(String[])} and loaded from the
+ * classpath on first use; when the resource is missing it is computed in memory.
+ * <p>
+ * A board is indexed by the position of its free cell and by the rank of the
+ * permutation of the other eight values. Swapping the last two values changes both
+ * the parity of the permutation and the least significant bit of its rank, so half
+ * the rank identifies a permutation among those with even parity, which are exactly
+ * the solvable ones.
+ */
+public final class HintTable {
+
+    /**
+     * The size of the boards covered by the table.
+     */
+    public static final int SIZE = 3;
+
+    /**
+     * Number of solvable 3x3 boards.
+     */
+    public static final int STATES = 9 * 20160;
+
+    /**
+     * Name of the resource holding the table, relative to this class.
+     */
+    static final String RESOURCE = "hints3.bin";
+
+    private static final int[] FACTORIALS = {5040, 720, 120, 24, 6, 2, 1, 1};
+
+    private final byte[] moves;
+
+    private HintTable(byte[] moves) {
+        this.moves = moves;
+    }
+
+    /**
+     * Returns the table, loading it on first use.
+     *
+     * @return the table.
+     */
+    public static HintTable get() {
+        return Holder.INSTANCE;
+    }
+
+    private static class Holder {
+        private static final HintTable INSTANCE = load();
+    }
+
+    private static HintTable load() {
+        try (InputStream in = HintTable.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                byte[] moves = in.readAllBytes();
+                if (moves.length == STATES / 4) {
+                    return new HintTable(moves);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return generate();
+    }
+
+    /**
+     * Returns an optimal move for the given board.
+     *
+     * @param tiles the cells of a 3x3 board which is not solved, listed row by row.
+     * @return an optimal move for the board.
+     * @throws IllegalArgumentException if the board cannot be solved.
+     */
+    public SlidingDirection bestMove(int[] tiles) {
+        int index = index(tiles);
+        if (index < 0) {
+            throw new IllegalArgumentException("The board cannot be solved");
+        }
+        return Moves.direction((moves[index >>> 2] >>> (2 * (index & 3))) & 3);
+    }
+
+    /**
+     * Returns the index of the given 3x3 board in the table.
+     *
+     * @param tiles the cells of a 3x3 board, listed row by row.
+     * @return the index of the board, or -1 if the board cannot be solved.
+     */
+    static int index(int[] tiles) {
+        int blank = -1;
+        int rank = 0;
+        int inversions = 0;
+        int k = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == 0) {
+                blank = i;
+                continue;
+            }
+            int smaller = 0;
+            for (int j = i + 1; j < tiles.length; j++) {
+                if ((tiles[j] != 0) && (tiles[j] < tiles[i])) {
+                    smaller++;
+                }
+            }
+            rank += smaller * FACTORIALS[k++];
+            inversions += smaller;
+        }
+        if ((inversions & 1) != 0) {
+            return -1;
+        }
+        return blank * (STATES / 9) + rank / 2;
+    }
+
+    /**
+     * Computes the table with a breadth first visit starting from the solved board:
+     * the first time a board is reached, the move back to the board it has been
+     * reached from is optimal.
+     *
+     * @return the computed table.
+     */
+    static HintTable generate() {
+        byte[] moves = new byte[STATES / 4];
+        boolean[] visited = new boolean[STATES];
+        long[] queue = new long[STATES];
+        int[] tiles = {1, 2, 3, 4, 5, 6, 7, 8, 0};
+        queue[0] = Moves.pack(tiles);
+        visited[index(tiles)] = true;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            Moves.unpack(queue[head++], tiles);
+            int blank = Moves.blank(tiles);
+            for (SlidingDirection dir : SlidingDirection.values()) {
+                int cell = Moves.movingCell(blank, dir, SIZE);
+                if (cell < 0) {
+                    continue;
+                }
+                tiles[blank] = tiles[cell];
+                tiles[cell] = 0;
+                int index = index(tiles);
+                if (!visited[index]) {
+                    visited[index] = true;
+                    moves[index >>> 2] |= (byte) (dir.reverse().ordinal() << (2 * (index & 3)));
+                    queue[tail++] = Moves.pack(tiles);
+                }
+                tiles[cell] = tiles[blank];
+                tiles[blank] = 0;
+            }
+        }
+        return new HintTable(moves);
+    }
+
+    /**
+     * Writes the table in the given resources directory.
+     *
+     * @param args the resources directory.
+     * @throws IOException if the table cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args[0], HintTable.class.getPackageName().replace('.', '/'), RESOURCE);
+        Files.createDirectories(file.getParent());
+        Files.write(file, generate().moves);
+    }
+
+}
@@ -0,0 +1,311 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Finds optimal solutions with iterative deepening A* guided by the Manhattan
+ * distance plus linear conflicts. Both terms are updated incrementally at each move.
+ * <p>
+ * An instance keeps the state of the last search and must not be shared among threads.
+ */
+public class IdaStarSolver implements Solver {
+
+    /**
+     * Value returned by the depth first search when the goal has been reached.
+     */
+    static final int FOUND = -1;
+
+    /**
+     * Value returned by the depth first search when it has been interrupted.
+     */
+    public static final int ABORTED = -2;
+
+    /**
+     * Number of expanded nodes between two checks of the time limit.
+     */
+    private static final int CHECK_MASK = 0xFFF;
+
+    private final long timeLimit;
+
+    private int size;
+
+    private int[] tiles;
+
+    private int blank;
+
+    private int[] rowConflicts;
+
+    private int[] columnConflicts;
+
+    private int[] path;
+
+    private long deadline;
+
+    private long nodes;
+
+    /**
+     * Copy of {@link #nodes} that other threads may read while a search is running,
+     * refreshed at every check of the time limit and at the end of the search.
+     */
+    private volatile long publishedNodes;
+
+    private int bestEstimate;
+
+    private SlidingDirection[] bestPath;
+
+    private int solutionLength;
+
+    private int nextBound;
+
+    private volatile boolean cancelled;
+
+    private SearchMonitor monitor;
+
+    /**
+     * Creates a new solver without time limit.
+     */
+    public IdaStarSolver() {
+        this.timeLimit = Long.MAX_VALUE;
+    }
+
+    /**
+     * Creates a new solver giving up after the given time.
+     *
+     * @param timeLimit the maximum duration of a search.
+     */
+    public IdaStarSolver(Duration timeLimit) {
+        this.timeLimit = timeLimit.toNanos();
+    }
+
+    /**
+     * Sets the monitor notified by the following searches, null for none.
+     *
+     * @param monitor the monitor notified by the following searches.
+     */
+    public void setMonitor(SearchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public SlidingDirection[] solve(int[] tiles, int size) {
+        if (!BoardAnalyzer.isSolvable(tiles, size)) {
+            throw new IllegalArgumentException("The board cannot be solved");
+        }
+        int h = init(tiles, size);
+        int bound = h;
+        while (true) {
+            if (monitor != null) {
+                monitor.iterationStarted(bound, nodes);
+            }
+            int t = search(0, h, bound, -1);
+            publishedNodes = nodes;
+            if (t == FOUND) {
+                return toDirections(path, solutionLength);
+            }
+            if ((t == ABORTED) || (t == Integer.MAX_VALUE)) {
+                return null;
+            }
+            bound = t;
+        }
+    }
+
+    /**
+     * Runs a single iteration of {@link #solve(int[], int)}, with the given cost bound,
+     * restricted to the subtree rooted at the board reached by the given moves.
+     *
+     * @param tiles the cells of a board, listed row by row, which are not modified.
+     * @param size the size of the board.
+     * @param prefix the moves leading to the root of the subtree.
+     * @param bound the cost bound of the iteration.
+     * @return the complete solution if one has been found, otherwise null; in that
+     * case {@link #getNextBound()} tells the bound of the next iteration.
+     */
+    public SlidingDirection[] searchSubtree(int[] tiles, int size, SlidingDirection[] prefix, int bound) {
+        int[] root = tiles.clone();
+        Moves.apply(root, size, prefix);
+        int h = init(root, size);
+        path = new int[prefix.length + path.length];
+        for (int i = 0; i < prefix.length; i++) {
+            path[i] = prefix[i].ordinal();
+        }
+        int previous = (prefix.length == 0 ? -1 : prefix[prefix.length - 1].ordinal());
+        int t = search(prefix.length, h, bound, previous);
+        publishedNodes = nodes;
+        nextBound = t;
+        return (t == FOUND ? toDirections(path, solutionLength) : null);
+    }
+
+    /**
+     * Returns, after an unsuccessful {@link #searchSubtree(int[], int, SlidingDirection[], int)},
+     * the lowest cost exceeding its bound: Integer.MAX_VALUE if there is none and
+     * {@link #ABORTED} if the search has been interrupted.
+     *
+     * @return the bound of the next iteration.
+     */
+    public int getNextBound() {
+        return nextBound;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method may be called by another thread while a search is running: the count
+     * then lags behind by fewer than 4096 nodes.
+     */
+    @Override
+    public long getNodes() {
+        return publishedNodes;
+    }
+
+    /**
+     * Returns the moves leading to the node with the lowest estimate met by the last
+     * search.
+     *
+     * @return the moves leading to the most promising node met so far.
+     */
+    public SlidingDirection[] getBestPath() {
+        return bestPath;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private int init(int[] tiles, int size) {
+        this.size = size;
+        this.tiles = tiles.clone();
+        this.blank = Moves.blank(tiles);
+        this.rowConflicts = new int[size];
+        this.columnConflicts = new int[size];
+        int h = Heuristics.manhattan(tiles, size);
+        for (int i = 0; i < size; i++) {
+            rowConflicts[i] = Heuristics.rowConflicts(tiles, size, i);
+            columnConflicts[i] = Heuristics.columnConflicts(tiles, size, i);
+            h += rowConflicts[i] + columnConflicts[i];
+        }
+        this.path = new int[64];
+        this.nodes = 0;
+        this.publishedNodes = 0;
+        this.deadline = (timeLimit == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + timeLimit);
+        this.bestEstimate = h;
+        this.bestPath = new SlidingDirection[0];
+        return h;
+    }
+
+    private int search(int g, int h, int bound, int previous) {
+        int f = g + h;
+        if (f > bound) {
+            return f;
+        }
+        if (h == 0) {
+            solutionLength = g;
+            return FOUND;
+        }
+        if ((++nodes & CHECK_MASK) == 0) {
+            publishedNodes = nodes;
+            if (monitor != null) {
+                monitor.nodesExpanded(nodes);
+            }
+            if (cancelled || (System.nanoTime() - deadline > 0)) {
+                return ABORTED;
+            }
+        }
+        if (h < bestEstimate) {
+            bestEstimate = h;
+            bestPath = toDirections(path, g);
+        }
+        if (g == path.length) {
+            path = Arrays.copyOf(path, 2 * g);
+        }
+        int min = Integer.MAX_VALUE;
+        for (int d = 0; d < 4; d++) {
+            if ((previous >= 0) && ((previous ^ 1) == d)) {
+                // directions come in opposite pairs (UP, DOWN) and (LEFT, RIGHT):
+                // moving back would undo the previous move
+                continue;
+            }
+            int cell = Moves.movingCell(blank, Moves.direction(d), size);
+            if (cell < 0) {
+                continue;
+            }
+            int from = blank;
+            int dh = slide(cell);
+            path[g] = d;
+            int t = search(g + 1, h + dh, bound, d);
+            slide(from);
+            if ((t == FOUND) || (t == ABORTED)) {
+                return t;
+            }
+            min = Math.min(min, t);
+        }
+        return min;
+    }
+
+    /**
+     * Moves the value in the given cell to the free cell and returns the variation of
+     * the estimate.
+     */
+    private int slide(int cell) {
+        int n = tiles[cell];
+        int dh = Heuristics.distance(blank, n, size) - Heuristics.distance(cell, n, size);
+        tiles[blank] = n;
+        tiles[cell] = 0;
+        if (cell / size != blank / size) {
+            dh += updateRow(cell / size) + updateRow(blank / size);
+        } else {
+            dh += updateColumn(cell % size) + updateColumn(blank % size);
+        }
+        blank = cell;
+        return dh;
+    }
+
+    private int updateRow(int row) {
+        int old = rowConflicts[row];
+        rowConflicts[row] = Heuristics.rowConflicts(tiles, size, row);
+        return rowConflicts[row] - old;
+    }
+
+    private int updateColumn(int column) {
+        int old = columnConflicts[column];
+        columnConflicts[column] = Heuristics.columnConflicts(tiles, size, column);
+        return columnConflicts[column] - old;
+    }
+
+    private static SlidingDirection[] toDirections(int[] path, int length) {
+        SlidingDirection[] result = new SlidingDirection[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = Moves.direction(path[i]);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * A hash map from non zero long keys to int values, stored in two primitive arrays
+ * with open addressing and linear probing. Entries cannot be removed. The arrays are
+ * reserved from a {@link MemoryBudget}: when the budget cannot hold larger arrays the
+ * map is not grown and {@link #put(long, int)} returns false.
+ */
+class LongIntHashMap {
+
+    /**
+     * Value returned by {@link #get(long)} for missing keys.
+     */
+    static final int MISSING = -1;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    private final MemoryBudget budget;
+
+    /**
+     * Creates a map for the given number of entries. The initial arrays are reserved
+     * whether or not they fit in the budget.
+     */
+    LongIntHashMap(int expectedSize, MemoryBudget budget) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        this.budget = budget;
+        budget.charge(bytes(capacity));
+    }
+
+    int get(long key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == 0) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Associates the given value to the given key. The entry is always stored.
+     *
+     * @return false if the map should have grown but the budget cannot hold it.
+     */
+    boolean put(long key, int value) {
+        int i = slot(key);
+        while ((keys[i] != 0) && (keys[i] != key)) {
+            i = (i + 1) & mask;
+        }
+        values[i] = value;
+        if (keys[i] == 0) {
+            keys[i] = key;
+            if (++size > (mask + 1) / 4 * 3) {
+                return rehash();
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long bytes(int capacity) {
+        return capacity * (long) (Long.BYTES + Integer.BYTES);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private boolean rehash() {
+        if (!budget.reserve(bytes(keys.length * 2))) {
+            return false;
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != 0) {
+                int i = slot(key);
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+        budget.release(bytes(oldKeys.length));
+        return true;
+    }
+
+}
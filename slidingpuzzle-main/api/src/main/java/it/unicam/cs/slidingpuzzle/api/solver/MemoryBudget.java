@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * Bytes allocated by a group of data structures, checked against a ceiling before
+ * each allocation. When an array is replaced by a larger copy, both are live while
+ * copying, so the new array is reserved before the old one is released and the peak
+ * includes the transient.
+ */
+class MemoryBudget {
+
+    private final long ceiling;
+
+    private long used;
+
+    private long peak;
+
+    MemoryBudget(long ceiling) {
+        this.ceiling = ceiling;
+    }
+
+    /**
+     * Reserves the given number of bytes if they fit under the ceiling.
+     *
+     * @return false if the bytes do not fit, in which case nothing is reserved.
+     */
+    boolean reserve(long bytes) {
+        if (used + bytes > ceiling) {
+            return false;
+        }
+        used += bytes;
+        peak = Math.max(peak, used);
+        return true;
+    }
+
+    /**
+     * Reserves the given number of bytes even if they exceed the ceiling.
+     */
+    void charge(long bytes) {
+        used += bytes;
+        peak = Math.max(peak, used);
+    }
+
+    void release(long bytes) {
+        used -= bytes;
+    }
+
+    long used() {
+        return used;
+    }
+
+    long peak() {
+        return peak;
+    }
+
+}
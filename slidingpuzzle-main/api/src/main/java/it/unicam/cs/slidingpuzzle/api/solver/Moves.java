@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+/**
+ * The rules of {@link it.unicam.cs.slidingpuzzle.api.PuzzleBoard#move(SlidingDirection)}
+ * expressed on boards stored as arrays of cells listed row by row.
+ */
+public final class Moves {
+
+    private static final SlidingDirection[] DIRECTIONS = SlidingDirection.values();
+
+    private Moves() {
+    }
+
+    /**
+     * Returns the direction with the given ordinal.
+     *
+     * @param ordinal the ordinal of a direction.
+     * @return the direction with the given ordinal.
+     */
+    public static SlidingDirection direction(int ordinal) {
+        return DIRECTIONS[ordinal];
+    }
+
+    /**
+     * Returns the index of the cell that slides into the free cell when moving in the
+     * given direction.
+     *
+     * @param blank the index of the free cell.
+     * @param dir a direction.
+     * @param size the size of the board.
+     * @return the index of the cell that slides into the free cell, or -1 if the move
+     * is not allowed.
+     */
+    public static int movingCell(int blank, SlidingDirection dir, int size) {
+        int row = blank / size;
+        int column = blank % size;
+        return switch (dir) {
+            case UP -> (row < size - 1 ? blank + size : -1);
+            case DOWN -> (row > 0 ? blank - size : -1);
+            case LEFT -> (column < size - 1 ? blank + 1 : -1);
+            case RIGHT -> (column > 0 ? blank - 1 : -1);
+        };
+    }
+
+    /**
+     * Returns the index of the free cell of the given board.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @return the index of the free cell.
+     */
+    public static int blank(int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            if (tiles[i] == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("The board has no free cell");
+    }
+
+    /**
+     * Applies the given moves to a board.
+     *
+     * @param tiles the cells of a board, listed row by row, updated in place.
+     * @param size the size of the board.
+     * @param moves the moves to apply.
+     * @return the index of the free cell after the moves.
+     * @throws IllegalArgumentException if one of the moves is not allowed.
+     */
+    public static int apply(int[] tiles, int size, SlidingDirection... moves) {
+        int blank = blank(tiles);
+        for (SlidingDirection dir : moves) {
+            int cell = movingCell(blank, dir, size);
+            if (cell < 0) {
+                throw new IllegalArgumentException("Illegal move " + dir);
+            }
+            tiles[blank] = tiles[cell];
+            tiles[cell] = 0;
+            blank = cell;
+        }
+        return blank;
+    }
+
+    /**
+     * Packs the cells of a board in a long value, four bits per cell, as
+     * {@link it.unicam.cs.slidingpuzzle.api.PuzzleBoard#pack()} does.
+     *
+     * @param tiles the cells of a board of size at most 4, listed row by row.
+     * @return the packed cells.
+     */
+    public static long pack(int[] tiles) {
+        long packed = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            packed |= ((long) tiles[i]) << (4 * i);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks the cells packed by {@link #pack(int[])}.
+     *
+     * @param packed the packed cells.
+     * @param tiles the array filled with the cells, listed row by row.
+     */
+    public static void unpack(long packed, int[] tiles) {
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = (int) (packed >>> (4 * i)) & 0xF;
+        }
+    }
+
+}
@@ -0,0 +1,257 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * An additive pattern database: the cells are split in disjoint groups and, for each
+ * group, a table holds the number of moves of the cells in the group needed to bring
+ * them home, whatever the other cells are. The sum of the values of all the groups is
+ * an admissible estimate of the moves needed to solve a board.
+ * <p>
+ * The position of each cell of a group is stored in four bits, so tables cover boards
+ * of size at most 4. They are computed at compile time by {@link #main(String[])}, with a
+ * breadth first visit from the solved board where moving a cell outside the group costs
+ * nothing, and loaded from the classpath on first use; when the resource is missing they
+ * are computed in memory.
+ */
+public final class PatternDatabase {
+
+    private static final int[][] PATTERNS_3 = {{1, 2, 3, 4}, {5, 6, 7, 8}};
+
+    private static final int[][] PATTERNS_4 = {{1, 2, 3, 5, 6}, {4, 7, 8, 11, 12}, {9, 10, 13, 14, 15}};
+
+    private static final byte UNKNOWN = -1;
+
+    /**
+     * Name of the resource holding the tables for boards of the given size, relative to
+     * this class. The tables of the groups are stored one after the other.
+     */
+    static final String RESOURCE = "patterns%d.bin";
+
+    private final int[][] patterns;
+
+    private final byte[][] tables;
+
+    private PatternDatabase(int[][] patterns, byte[][] tables) {
+        this.patterns = patterns;
+        this.tables = tables;
+    }
+
+    /**
+     * Returns the database for boards of the given size, loading it on first use.
+     *
+     * @param size the size of a board.
+     * @return the database for boards of the given size, or null if there is none.
+     */
+    public static PatternDatabase forSize(int size) {
+        return switch (size) {
+            case 3 -> Small.INSTANCE;
+            case 4 -> Large.INSTANCE;
+            default -> null;
+        };
+    }
+
+    private static class Small {
+        private static final PatternDatabase INSTANCE = load(3, PATTERNS_3);
+    }
+
+    private static class Large {
+        private static final PatternDatabase INSTANCE = load(4, PATTERNS_4);
+    }
+
+    private static PatternDatabase load(int size, int[][] patterns) {
+        try (InputStream in = PatternDatabase.class.getResourceAsStream(String.format(RESOURCE, size))) {
+            if (in != null) {
+                byte[][] tables = new byte[patterns.length][];
+                for (int p = 0; p < patterns.length; p++) {
+                    tables[p] = in.readNBytes(1 << (4 * patterns[p].length));
+                    if (tables[p].length != 1 << (4 * patterns[p].length)) {
+                        return generate(size, patterns);
+                    }
+                }
+                return new PatternDatabase(patterns, tables);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return generate(size, patterns);
+    }
+
+    /**
+     * Returns the estimate of the moves needed to solve the given board.
+     *
+     * @param tiles the cells of a board, listed row by row.
+     * @return an admissible estimate of the moves needed to solve the board.
+     */
+    public int estimate(int[] tiles) {
+        int[] positions = new int[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            positions[tiles[i]] = i;
+        }
+        int sum = 0;
+        for (int p = 0; p < patterns.length; p++) {
+            int index = 0;
+            for (int k = 0; k < patterns[p].length; k++) {
+                index |= positions[patterns[p][k]] << (4 * k);
+            }
+            sum += tables[p][index];
+        }
+        return sum;
+    }
+
+    static PatternDatabase generate(int size, int[][] patterns) {
+        byte[][] tables = new byte[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            tables[p] = generate(size, patterns[p]);
+        }
+        return new PatternDatabase(patterns, tables);
+    }
+
+    /**
+     * Visits the abstract boards made of the positions of the cells in the pattern
+     * followed by the position of the free cell, level by level of cost. Within a level
+     * the boards reached by moving other cells are visited depth first.
+     */
+    private static byte[] generate(int size, int[] pattern) {
+        int k = pattern.length;
+        byte[] costs = new byte[1 << (4 * (k + 1))];
+        Arrays.fill(costs, UNKNOWN);
+        int start = 0;
+        for (int j = 0; j < k; j++) {
+            start |= (pattern[j] - 1) << (4 * j);
+        }
+        start |= (size * size - 1) << (4 * k);
+        IntStack current = new IntStack();
+        IntStack next = new IntStack();
+        next.push(start);
+        int[] owner = new int[size * size];
+        for (int cost = 0; !next.isEmpty(); cost++) {
+            IntStack swap = current;
+            current = next;
+            next = swap;
+            IntStack level = new IntStack();
+            while (!current.isEmpty()) {
+                int state = current.pop();
+                if (costs[state] == UNKNOWN) {
+                    costs[state] = (byte) cost;
+                    level.push(state);
+                }
+            }
+            while (!level.isEmpty()) {
+                int state = level.pop();
+                Arrays.fill(owner, -1);
+                for (int j = 0; j < k; j++) {
+                    owner[(state >>> (4 * j)) & 0xF] = j;
+                }
+                int blank = (state >>> (4 * k)) & 0xF;
+                for (int d = 0; d < 4; d++) {
+                    int cell = Moves.movingCell(blank, Moves.direction(d), size);
+                    if (cell < 0) {
+                        continue;
+                    }
+                    int moved = (state & ~(0xF << (4 * k))) | (cell << (4 * k));
+                    int j = owner[cell];
+                    if (j < 0) {
+                        if (costs[moved] == UNKNOWN) {
+                            costs[moved] = (byte) cost;
+                            level.push(moved);
+                        }
+                    } else {
+                        moved = (moved & ~(0xF << (4 * j))) | (blank << (4 * j));
+                        if (costs[moved] == UNKNOWN) {
+                            next.push(moved);
+                        }
+                    }
+                }
+            }
+        }
+        byte[] table = new byte[1 << (4 * k)];
+        Arrays.fill(table, Byte.MAX_VALUE);
+        int mask = table.length - 1;
+        for (int state = 0; state < costs.length; state++) {
+            if ((costs[state] != UNKNOWN) && (costs[state] < table[state & mask])) {
+                table[state & mask] = costs[state];
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Writes the tables for every supported size in the given resources directory.
+     *
+     * @param args the resources directory.
+     * @throws IOException if the tables cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        write(Path.of(args[0]), 3, PATTERNS_3);
+        write(Path.of(args[0]), 4, PATTERNS_4);
+    }
+
+    private static void write(Path directory, int size, int[][] patterns) throws IOException {
+        Path file = directory.resolve(PatternDatabase.class.getPackageName().replace('.', '/'))
+                .resolve(String.format(RESOURCE, size));
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (byte[] table : generate(size, patterns).tables) {
+                out.write(table);
+            }
+        }
+    }
+
+    /**
+     * A growable stack of int values.
+     */
+    private static class IntStack {
+
+        private int[] values = new int[1024];
+
+        private int size;
+
+        void push(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+/**
+ * Evaluates the boards of a batch one at a time. The linear conflicts of a line are
+ * computed as in {@link VectorBatchEvaluator}, so that both return the same values.
+ */
+public class ScalarBatchEvaluator implements BatchEvaluator {
+
+    @Override
+    public void evaluate(BoardBatch batch, int[] manhattan, int[] conflicts) {
+        evaluate(batch, 0, manhattan, conflicts);
+    }
+
+    /**
+     * Evaluates the boards of the given batch from the given index on.
+     */
+    void evaluate(BoardBatch batch, int from, int[] manhattan, int[] conflicts) {
+        int size = batch.getSize();
+        GoalTables goals = new GoalTables(size);
+        int[] lengths = new int[size];
+        int[] along = new int[size];
+        for (int b = from; b < batch.getCount(); b++) {
+            int distance = 0;
+            for (int c = 0; c < size * size; c++) {
+                distance += goals.distances[c][batch.cell(c)[b]];
+            }
+            int sum = 0;
+            for (int line = 0; line < size; line++) {
+                sum += conflicts(batch, b, size, line, true, goals, lengths, along)
+                        + conflicts(batch, b, size, line, false, goals, lengths, along);
+            }
+            manhattan[b] = distance;
+            conflicts[b] = sum;
+        }
+    }
+
+    private static int conflicts(BoardBatch batch, int b, int size, int line, boolean row,
+                                 GoalTables goals, int[] lengths, int[] along) {
+        int[] goalLines = (row ? goals.rows : goals.columns);
+        int[] goalAlong = (row ? goals.columns : goals.rows);
+        int k = 0;
+        int longest = 0;
+        for (int i = 0; i < size; i++) {
+            int n = batch.cell(row ? line * size + i : i * size + line)[b];
+            along[i] = goalAlong[n];
+            lengths[i] = 0;
+            if (goalLines[n] != line) {
+                continue;
+            }
+            int best = 0;
+            for (int j = 0; j < i; j++) {
+                if (along[j] < along[i]) {
+                    best = Math.max(best, lengths[j]);
+                }
+            }
+            lengths[i] = best + 1;
+            longest = Math.max(longest, lengths[i]);
+            k++;
+        }
+        return 2 * (k - longest);
+    }
+
+}
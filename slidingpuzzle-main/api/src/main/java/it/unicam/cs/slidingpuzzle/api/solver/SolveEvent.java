@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+/**
+ * An event published by a {@link StreamingSolver} while a search is running.
+ */
+public sealed interface SolveEvent {
+
+    /**
+     * The search started an iteration with a new cost bound.
+     *
+     * @param bound the cost bound of the iteration.
+     * @param nodes the number of nodes expanded so far.
+     */
+    record BoundReached(int bound, long nodes) implements SolveEvent {
+    }
+
+    /**
+     * A periodic report on the search.
+     *
+     * @param nodes the number of nodes expanded so far.
+     * @param nodesPerSecond the number of nodes expanded per second since the start.
+     * @param bestPath the moves leading to the board with the lowest estimate met so far.
+     */
+    record Progress(long nodes, double nodesPerSecond, SlidingDirection[] bestPath) implements SolveEvent {
+    }
+
+    /**
+     * The search found an optimal solution; this is the last event.
+     *
+     * @param solution an optimal sequence of moves solving the board.
+     * @param nodes the number of nodes expanded.
+     * @param elapsedNanos the duration of the search, in nanoseconds.
+     */
+    record Solved(SlidingDirection[] solution, long nodes, long elapsedNanos) implements SolveEvent {
+    }
+
+}
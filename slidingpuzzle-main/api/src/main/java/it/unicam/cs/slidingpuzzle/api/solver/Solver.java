@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+/**
+ * An algorithm finding optimal solutions of boards.
+ */
+public interface Solver {
+
+    /**
+     * Returns an optimal sequence of moves solving the given board.
+     *
+     * @param tiles the cells of a board, listed row by row, which are not modified.
+     * @param size the size of the board.
+     * @return an optimal sequence of moves solving the board, or null if the search
+     * gave up or has been cancelled.
+     * @throws IllegalArgumentException if the board cannot be solved.
+     */
+    SlidingDirection[] solve(int[] tiles, int size);
+
+    /**
+     * Returns an optimal sequence of moves solving the given board.
+     *
+     * @param board a board, which is not modified.
+     * @return an optimal sequence of moves solving the board, or null if the search
+     * gave up or has been cancelled.
+     * @throws IllegalArgumentException if the board cannot be solved.
+     */
+    default SlidingDirection[] solve(PuzzleBoard board) {
+        return solve(board.toArray(), board.getSize());
+    }
+
+    /**
+     * Returns the number of nodes expanded by the last search.
+     *
+     * @return the number of nodes expanded by the last search.
+     */
+    long getNodes();
+
+    /**
+     * Interrupts the running search, if any, and makes the following ones return
+     * immediately. This method may be called by any thread.
+     */
+    void cancel();
+
+}
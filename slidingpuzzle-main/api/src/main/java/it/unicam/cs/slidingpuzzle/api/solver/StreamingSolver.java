@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link IdaStarSolver} searches that report their progress as a stream of
+ * {@link SolveEvent}s. Each call to {@link #solve(PuzzleBoard)} returns a publisher
+ * accepting a single subscriber; the search starts when the subscriber subscribes.
+ * <p>
+ * Events are never delivered beyond the demand of the subscriber. Bound and final
+ * events are queued until requested, while a progress report is skipped when the
+ * previous events have not been delivered yet, so the search never waits for the
+ * subscriber. Cancelling the subscription stops the search after at most a few
+ * thousand nodes.
+ */
+public class StreamingSolver {
+
+    /**
+     * Default interval between two progress reports.
+     */
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofMillis(100);
+
+    private final Executor executor;
+
+    private final long progressInterval;
+
+    /**
+     * Creates a new solver with the default progress interval.
+     *
+     * @param executor executor running the searches, one task per search.
+     */
+    public StreamingSolver(Executor executor) {
+        this(executor, DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    /**
+     * Creates a new solver.
+     *
+     * @param executor executor running the searches, one task per search.
+     * @param progressInterval interval between two progress reports.
+     */
+    public StreamingSolver(Executor executor, Duration progressInterval) {
+        this.executor = executor;
+        this.progressInterval = progressInterval.toNanos();
+    }
+
+    /**
+     * Returns a publisher of the events of a search solving the given board. The
+     * subscriber gets an error if the board cannot be solved or the executor rejects
+     * the search.
+     *
+     * @param board a board, which is not modified.
+     * @return a publisher of the events of a search solving the board.
+     */
+    public Flow.Publisher<SolveEvent> solve(PuzzleBoard board) {
+        int[] tiles = board.toArray();
+        int size = board.getSize();
+        AtomicBoolean subscribed = new AtomicBoolean();
+        return subscriber -> {
+            if (!subscribed.compareAndSet(false, true)) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("Only one subscriber is allowed"));
+                return;
+            }
+            SearchSubscription subscription = new SearchSubscription(subscriber, tiles, size);
+            subscriber.onSubscribe(subscription);
+            try {
+                executor.execute(subscription::run);
+            } catch (RejectedExecutionException e) {
+                subscription.fail(e);
+            }
+        };
+    }
+
+    /**
+     * The subscription of a search. Signals to the subscriber are serialized by a work
+     * in progress counter: whoever increments it from zero delivers the pending events,
+     * including those queued meanwhile by other threads.
+     */
+    private class SearchSubscription implements Flow.Subscription, SearchMonitor {
+
+        private final Flow.Subscriber<? super SolveEvent> subscriber;
+
+        private final int[] tiles;
+
+        private final int size;
+
+        private final IdaStarSolver solver = new IdaStarSolver();
+
+        private final Queue<SolveEvent> events = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        private volatile boolean done;
+
+        private volatile Throwable error;
+
+        private long start;
+
+        private long lastReport;
+
+        SearchSubscription(Flow.Subscriber<? super SolveEvent> subscriber, int[] tiles, int size) {
+            this.subscriber = subscriber;
+            this.tiles = tiles;
+            this.size = size;
+            solver.setMonitor(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Non positive request " + n);
+            } else {
+                demand.getAndUpdate(d -> (d + n < 0 ? Long.MAX_VALUE : d + n));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            solver.cancel();
+        }
+
+        void run() {
+            if (cancelled) {
+                return;
+            }
+            start = System.nanoTime();
+            lastReport = start;
+            try {
+                SlidingDirection[] solution = solver.solve(tiles, size);
+                if (solution != null) {
+                    events.add(new SolveEvent.Solved(solution, solver.getNodes(), System.nanoTime() - start));
+                    done = true;
+                }
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            drain();
+        }
+
+        void fail(Throwable failure) {
+            error = failure;
+            drain();
+        }
+
+        @Override
+        public void iterationStarted(int bound, long nodes) {
+            events.add(new SolveEvent.BoundReached(bound, nodes));
+            drain();
+        }
+
+        @Override
+        public void nodesExpanded(long nodes) {
+            long now = System.nanoTime();
+            if (now - lastReport < progressInterval) {
+                return;
+            }
+            lastReport = now;
+            if (events.isEmpty() && (demand.get() > 0)) {
+                events.add(new SolveEvent.Progress(nodes, nodes * 1e9 / (now - start), solver.getBestPath()));
+                drain();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!cancelled) {
+                    Throwable failure = error;
+                    if (failure != null) {
+                        cancel();
+                        subscriber.onError(failure);
+                        break;
+                    }
+                    SolveEvent event = events.peek();
+                    if (event == null) {
+                        if (done) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                        break;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    events.poll();
+                    demand.getAndUpdate(d -> (d == Long.MAX_VALUE ? d : d - 1));
+                    subscriber.onNext(event);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+}
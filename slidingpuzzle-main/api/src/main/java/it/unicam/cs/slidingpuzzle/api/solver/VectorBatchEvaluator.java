@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluates the boards of a batch with the vector API, one board per lane. The goal
+ * positions are gathered from lookup tables indexed by the values of a cell, and the
+ * longest increasing subsequence of each line is computed lane-wise with masks, so no
+ * lane ever branches. Boards left over by the last full vector are evaluated by a
+ * {@link ScalarBatchEvaluator}.
+ * <p>
+ * This class requires the module jdk.incubator.vector; use {@link BatchEvaluator#create()}
+ * to obtain it only when available.
+ */
+public class VectorBatchEvaluator implements BatchEvaluator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final ScalarBatchEvaluator tail = new ScalarBatchEvaluator();
+
+    @Override
+    public void evaluate(BoardBatch batch, int[] manhattan, int[] conflicts) {
+        int size = batch.getSize();
+        int cells = size * size;
+        GoalTables goals = new GoalTables(size);
+        int bound = SPECIES.loopBound(batch.getCount());
+        IntVector[] lengths = new IntVector[size];
+        IntVector[] along = new IntVector[size];
+        for (int b = 0; b < bound; b += SPECIES.length()) {
+            IntVector distance = IntVector.zero(SPECIES);
+            for (int c = 0; c < cells; c++) {
+                distance = distance.add(IntVector.fromArray(SPECIES, goals.distances[c], 0, batch.cell(c), b));
+            }
+            IntVector sum = IntVector.zero(SPECIES);
+            for (int line = 0; line < size; line++) {
+                sum = sum.add(conflicts(batch, b, size, line, true, goals, lengths, along))
+                        .add(conflicts(batch, b, size, line, false, goals, lengths, along));
+            }
+            distance.intoArray(manhattan, b);
+            sum.intoArray(conflicts, b);
+        }
+        tail.evaluate(batch, bound, manhattan, conflicts);
+    }
+
+    private static IntVector conflicts(BoardBatch batch, int b, int size, int line, boolean row,
+                                       GoalTables goals, IntVector[] lengths, IntVector[] along) {
+        int[] goalLines = (row ? goals.rows : goals.columns);
+        int[] goalAlong = (row ? goals.columns : goals.rows);
+        IntVector zero = IntVector.zero(SPECIES);
+        IntVector k = zero;
+        IntVector longest = zero;
+        for (int i = 0; i < size; i++) {
+            int[] values = batch.cell(row ? line * size + i : i * size + line);
+            VectorMask<Integer> inLine = IntVector.fromArray(SPECIES, goalLines, 0, values, b)
+                    .compare(VectorOperators.EQ, line);
+            along[i] = IntVector.fromArray(SPECIES, goalAlong, 0, values, b);
+            IntVector best = zero;
+            for (int j = 0; j < i; j++) {
+                // lengths[j] is zero in the lanes where cell j is not in its goal line
+                VectorMask<Integer> before = along[j].compare(VectorOperators.LT, along[i]);
+                best = best.max(zero.blend(lengths[j], before));
+            }
+            lengths[i] = zero.blend(best.add(1), inLine);
+            longest = longest.max(lengths[i]);
+            k = k.add(1, inLine);
+        }
+        return k.sub(longest).mul(2);
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import jdk.incubator.vector.IntVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private static final int LANES = IntVector.SPECIES_PREFERRED.length();
+
+    /**
+     * Batch sizes around multiples of the vector length, so that the scalar tail of
+     * the vector evaluator is exercised.
+     */
+    private static final int[] COUNTS = {1, LANES - 1, LANES + 1, 3 * LANES + 5, 1000 * LANES + LANES / 2 + 1};
+
+    private static int[] randomBoard(Random random, int size) {
+        int[] tiles = new int[size * size];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = i;
+        }
+        for (int i = tiles.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = t;
+        }
+        return tiles;
+    }
+
+    private static void assertMatchesHeuristics(BatchEvaluator evaluator) {
+        Random random = new Random(1);
+        for (int size = 2; size <= 6; size++) {
+            for (int count : COUNTS) {
+                BoardBatch batch = new BoardBatch(size, count);
+                int[][] boards = new int[count][];
+                for (int b = 0; b < count; b++) {
+                    boards[b] = randomBoard(random, size);
+                    batch.add(boards[b]);
+                }
+                int[] manhattan = new int[count];
+                int[] conflicts = new int[count];
+                evaluator.evaluate(batch, manhattan, conflicts);
+                for (int b = 0; b < count; b++) {
+                    assertEquals(Heuristics.manhattan(boards[b], size), manhattan[b]);
+                    assertEquals(Heuristics.linearConflicts(boards[b], size), conflicts[b]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void scalarEvaluatorMatchesHeuristics() {
+        assertMatchesHeuristics(new ScalarBatchEvaluator());
+    }
+
+    @Test
+    void vectorEvaluatorMatchesHeuristics() {
+        assertMatchesHeuristics(new VectorBatchEvaluator());
+    }
+
+    @Test
+    void createUsesTheVectorEvaluator() {
+        assertInstanceOf(VectorBatchEvaluator.class, BatchEvaluator.create());
+    }
+
+    @Test
+    void packedBoardsMatchUnpackedBoards() {
+        Random random = new Random(2);
+        BoardBatch unpacked = new BoardBatch(4, COUNTS[3]);
+        BoardBatch packed = new BoardBatch(4, COUNTS[3]);
+        for (int b = 0; b < COUNTS[3]; b++) {
+            int[] tiles = randomBoard(random, 4);
+            unpacked.add(tiles);
+            packed.add(Moves.pack(tiles));
+        }
+        int[][] expected = new int[2][COUNTS[3]];
+        int[][] actual = new int[2][COUNTS[3]];
+        BatchEvaluator evaluator = BatchEvaluator.create();
+        evaluator.evaluate(unpacked, expected[0], expected[1]);
+        evaluator.evaluate(packed, actual[0], actual[1]);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void fullBatchRejectsBoardsWithoutChangingThem() {
+        BoardBatch batch = new BoardBatch(3, 1);
+        int[] first = {1, 2, 3, 4, 5, 6, 7, 8, 0};
+        batch.add(first);
+        assertThrows(IllegalStateException.class, () -> batch.add(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}));
+        assertThrows(IllegalStateException.class, () -> batch.add(0L));
+        assertEquals(1, batch.getCount());
+        for (int c = 0; c < first.length; c++) {
+            assertEquals(first[c], batch.cell(c)[0]);
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardAnalyzerTest {
+
+    /**
+     * Returns the packed boards of the given size reached by moves from the solved board.
+     */
+    private static Set<Long> reachable(int size) {
+        int[] tiles = new PuzzleBoard(size).toArray();
+        Set<Long> visited = new HashSet<>();
+        Queue<Long> queue = new ArrayDeque<>();
+        visited.add(Moves.pack(tiles));
+        queue.add(Moves.pack(tiles));
+        while (!queue.isEmpty()) {
+            Moves.unpack(queue.remove(), tiles);
+            int blank = Moves.blank(tiles);
+            for (SlidingDirection dir : SlidingDirection.values()) {
+                int cell = Moves.movingCell(blank, dir, size);
+                if (cell >= 0) {
+                    int[] next = tiles.clone();
+                    next[blank] = next[cell];
+                    next[cell] = 0;
+                    if (visited.add(Moves.pack(next))) {
+                        queue.add(Moves.pack(next));
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Checks every permutation of the cells of a board with Heap's algorithm.
+     */
+    private static void checkAllPermutations(int size) {
+        Set<Long> reachable = reachable(size);
+        int[] tiles = new PuzzleBoard(size).toArray();
+        int[] counters = new int[tiles.length];
+        int solvable = assertSolvableIffReachable(reachable, tiles, size);
+        int permutations = 1;
+        int i = 1;
+        while (i < tiles.length) {
+            if (counters[i] < i) {
+                int j = (i % 2 == 0 ? 0 : counters[i]);
+                int t = tiles[i];
+                tiles[i] = tiles[j];
+                tiles[j] = t;
+                solvable += assertSolvableIffReachable(reachable, tiles, size);
+                permutations++;
+                counters[i]++;
+                i = 1;
+            } else {
+                counters[i] = 0;
+                i++;
+            }
+        }
+        assertEquals(permutations / 2, solvable);
+    }
+
+    private static int assertSolvableIffReachable(Set<Long> reachable, int[] tiles, int size) {
+        boolean expected = reachable.contains(Moves.pack(tiles));
+        assertEquals(expected, BoardAnalyzer.isSolvable(tiles, size), Arrays.toString(tiles));
+        return (expected ? 1 : 0);
+    }
+
+    /**
+     * Swaps two cells other than the free cell, which changes the solvability of a board.
+     */
+    private static int[] swapTiles(int[] tiles) {
+        int[] swapped = tiles.clone();
+        int a = (swapped[0] == 0 ? 1 : 0);
+        int b = (swapped[a + 1] == 0 ? a + 2 : a + 1);
+        int t = swapped[a];
+        swapped[a] = swapped[b];
+        swapped[b] = t;
+        return swapped;
+    }
+
+    private static long countInversions(int[] tiles) {
+        long inversions = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            for (int j = i + 1; j < tiles.length; j++) {
+                if (tiles[i] != 0 && tiles[j] != 0 && tiles[i] > tiles[j]) {
+                    inversions++;
+                }
+            }
+        }
+        return inversions;
+    }
+
+    private static PuzzleBoard shuffled(Random random, int size, int movements) {
+        PuzzleBoard board = new PuzzleBoard(size);
+        board.shuffle(random, movements);
+        return board;
+    }
+
+    @Test
+    void evenSizeSolvabilityMatchesReachableBoards() {
+        checkAllPermutations(2);
+    }
+
+    @Test
+    void oddSizeSolvabilityMatchesReachableBoards() {
+        checkAllPermutations(3);
+    }
+
+    @Test
+    void largerBoardsChangeSolvabilityWhenTwoTilesAreSwapped() {
+        Random random = new Random(1);
+        for (int size = 4; size <= 7; size++) {
+            for (int i = 0; i < 100; i++) {
+                int[] tiles = shuffled(random, size, 1000).toArray();
+                assertTrue(BoardAnalyzer.isSolvable(tiles, size));
+                assertFalse(BoardAnalyzer.isSolvable(swapTiles(tiles), size));
+            }
+        }
+    }
+
+    @Test
+    void inversionsMatchQuadraticCount() {
+        Random random = new Random(2);
+        for (int size = 2; size <= 8; size++) {
+            int[] tiles = new PuzzleBoard(size).toArray();
+            for (int i = 0; i < 200; i++) {
+                for (int k = tiles.length - 1; k > 0; k--) {
+                    int j = random.nextInt(k + 1);
+                    int t = tiles[k];
+                    tiles[k] = tiles[j];
+                    tiles[j] = t;
+                }
+                assertEquals(countInversions(tiles), BoardAnalyzer.inversions(tiles));
+            }
+        }
+    }
+
+    @Test
+    void rankPutsHarderBoardsFirstAndUnsolvableBoardsLast() {
+        Random random = new Random(3);
+        List<PuzzleBoard> boards = new ArrayList<>();
+        boards.add(new PuzzleBoard(4));
+        for (int i = 0; i < 20; i++) {
+            PuzzleBoard board = shuffled(random, 4, 5 + 10 * i);
+            boards.add(board);
+            if (i % 4 == 0) {
+                boards.add(new PuzzleBoard(4, swapTiles(board.toArray())));
+            }
+        }
+        BoardAnalysis[] analyses = BoardAnalyzer.analyzeAll(boards);
+        int[] ranking = BoardAnalyzer.rank(boards);
+        assertEquals(boards.size(), ranking.length);
+        assertEquals(boards.size(), Arrays.stream(ranking).distinct().count());
+        boolean unsolvableSeen = false;
+        for (int i = 0; i < ranking.length; i++) {
+            BoardAnalysis analysis = analyses[ranking[i]];
+            assertEquals(analysis, BoardAnalyzer.analyze(boards.get(ranking[i])));
+            if (!analysis.solvable()) {
+                unsolvableSeen = true;
+                assertEquals(-1, analysis.score());
+            } else {
+                assertFalse(unsolvableSeen, "solvable board ranked after an unsolvable one");
+            }
+            if (i > 0) {
+                assertTrue(analyses[ranking[i - 1]].score() >= analysis.score());
+            }
+        }
+        assertTrue(unsolvableSeen);
+    }
+
+    @Test
+    void estimatesNeverExceedOptimalLength() {
+        Random random = new Random(4);
+        for (int i = 0; i < 300; i++) {
+            assertAdmissible(shuffled(random, 3, 100));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertAdmissible(shuffled(random, 4, 40));
+        }
+    }
+
+    private static void assertAdmissible(PuzzleBoard board) {
+        int[] tiles = board.toArray();
+        int optimal = new IdaStarSolver().solve(tiles.clone(), board.getSize()).length;
+        BoardAnalysis analysis = BoardAnalyzer.analyze(board);
+        assertEquals(PatternDatabase.forSize(board.getSize()).estimate(tiles), analysis.patternBound());
+        assertTrue(analysis.patternBound() <= optimal, Arrays.toString(tiles));
+        assertTrue(analysis.manhattan() + analysis.linearConflicts() <= optimal, Arrays.toString(tiles));
+        assertTrue(analysis.score() <= optimal, Arrays.toString(tiles));
+    }
+
+}
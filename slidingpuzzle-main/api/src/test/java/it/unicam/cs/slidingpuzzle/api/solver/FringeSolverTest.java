@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FringeSolverTest {
+
+    /**
+     * A 4x4 board whose optimal solution has 53 moves.
+     */
+    private static final int[] BOARD = {9, 0, 3, 12, 10, 8, 6, 15, 11, 5, 7, 14, 4, 13, 1, 2};
+
+    private static final int OPTIMAL_LENGTH = 53;
+
+    @Test
+    void peakMemoryStaysUnderTheCeiling() {
+        for (long ceiling : new long[] {4L << 20, 16L << 20, 48L << 20}) {
+            FringeSolver solver = new FringeSolver(ceiling);
+            assertEquals(OPTIMAL_LENGTH, solver.solve(BOARD.clone(), 4).length);
+            assertTrue(solver.getPeakMemoryBytes() <= ceiling, "peak above " + (ceiling >> 20) + " MiB");
+        }
+    }
+
+    @Test
+    void smallCeilingFallsBackToIterativeDeepening() {
+        FringeSolver solver = new FringeSolver(4L << 20);
+        assertEquals(OPTIMAL_LENGTH, solver.solve(BOARD.clone(), 4).length);
+        assertTrue(solver.usedFallback());
+    }
+
+    @Test
+    void largeCeilingCompletesTheFringeSearch() {
+        FringeSolver solver = new FringeSolver();
+        assertEquals(OPTIMAL_LENGTH, solver.solve(BOARD.clone(), 4).length);
+        assertFalse(solver.usedFallback());
+    }
+
+    @Test
+    void budgetCountsArraysBeingCopied() {
+        MemoryBudget budget = new MemoryBudget(Long.MAX_VALUE);
+        LongIntHashMap map = new LongIntHashMap(16, budget);
+        long initial = budget.used();
+        for (long key = 1; key <= 25; key++) {
+            assertTrue(map.put(key, 0));
+        }
+        assertEquals(2 * initial, budget.used());
+        assertEquals(3 * initial, budget.peak());
+    }
+
+    @Test
+    void mapRefusesToGrowBeyondTheBudget() {
+        MemoryBudget budget = new MemoryBudget(0);
+        LongIntHashMap map = new LongIntHashMap(16, budget);
+        boolean grown = true;
+        for (long key = 1; grown; key++) {
+            grown = map.put(key, (int) key);
+            assertEquals((int) key, map.get(key));
+        }
+        assertEquals(budget.peak(), budget.used());
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HintTableTest {
+
+    private static final int BOARDS = 500;
+
+    /**
+     * Returns a random 3x3 board with the given solvability which is not solved.
+     */
+    private static int[] randomBoard(Random random, boolean solvable) {
+        int[] tiles = {1, 2, 3, 4, 5, 6, 7, 8, 0};
+        do {
+            for (int i = tiles.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = tiles[i];
+                tiles[i] = tiles[j];
+                tiles[j] = t;
+            }
+        } while ((BoardAnalyzer.isSolvable(tiles, HintTable.SIZE) != solvable)
+                || (Heuristics.manhattan(tiles, HintTable.SIZE) == 0));
+        return tiles;
+    }
+
+    private static int optimalLength(int[] tiles) {
+        return new IdaStarSolver().solve(tiles.clone(), HintTable.SIZE).length;
+    }
+
+    @Test
+    void bestMoveIsOptimal() {
+        Random random = new Random(1);
+        HintTable table = HintTable.get();
+        for (int i = 0; i < BOARDS; i++) {
+            int[] tiles = randomBoard(random, true);
+            int length = optimalLength(tiles);
+            Moves.apply(tiles, HintTable.SIZE, table.bestMove(tiles));
+            assertEquals(length - 1, optimalLength(tiles));
+        }
+    }
+
+    @Test
+    void generatedTableMatchesResource() {
+        Random random = new Random(2);
+        HintTable loaded = HintTable.get();
+        HintTable generated = HintTable.generate();
+        for (int i = 0; i < BOARDS; i++) {
+            int[] tiles = randomBoard(random, true);
+            assertEquals(generated.bestMove(tiles), loaded.bestMove(tiles));
+        }
+    }
+
+    @Test
+    void indexRejectsOddParity() {
+        Random random = new Random(3);
+        for (int i = 0; i < BOARDS; i++) {
+            int[] tiles = randomBoard(random, false);
+            assertEquals(-1, HintTable.index(tiles));
+            assertThrows(IllegalArgumentException.class, () -> HintTable.get().bestMove(tiles));
+        }
+    }
+
+    @Test
+    void indexIsInRangeForEvenParity() {
+        Random random = new Random(4);
+        for (int i = 0; i < BOARDS; i++) {
+            int index = HintTable.index(randomBoard(random, true));
+            assertTrue((index >= 0) && (index < HintTable.STATES));
+        }
+    }
+
+    @Test
+    void hintIsNullOnSolvedBoard() {
+        assertNull(new HintOracle().hint(new PuzzleBoard(3)));
+        assertNull(new HintOracle().hint(new PuzzleBoard(4)));
+    }
+
+    @Test
+    void hintFollowsOptimalMoves() {
+        PuzzleBoard board = new PuzzleBoard(3);
+        board.shuffle(new Random(5), 100);
+        int length = optimalLength(board.toArray());
+        HintOracle oracle = new HintOracle();
+        int moves = 0;
+        for (SlidingDirection dir = oracle.hint(board); dir != null; dir = oracle.hint(board)) {
+            assertTrue(board.move(dir));
+            moves++;
+        }
+        assertTrue(board.solved());
+        assertEquals(length, moves);
+    }
+
+    @Test
+    void hintThrowsOnUnsolvableBoard() {
+        PuzzleBoard small = new PuzzleBoard(3, new int[] {2, 1, 3, 4, 5, 6, 7, 8, 0});
+        assertThrows(IllegalArgumentException.class, () -> new HintOracle().hint(small));
+        PuzzleBoard large = new PuzzleBoard(4, new int[] {2, 1, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 0});
+        assertThrows(IllegalArgumentException.class, () -> new HintOracle().hint(large));
+    }
+
+}
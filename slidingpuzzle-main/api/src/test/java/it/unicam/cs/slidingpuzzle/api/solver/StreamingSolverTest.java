@@ -0,0 +1,237 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.api.solver;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingSolverTest {
+
+    /**
+     * A board needing 58 moves, which takes seconds to solve.
+     */
+    private static final int[] SLOW_BOARD = {3, 13, 5, 14, 8, 6, 1, 0, 12, 9, 11, 15, 10, 2, 4, 7};
+
+    /**
+     * A subscriber recording the signals it gets, checking that events never exceed
+     * the demand.
+     */
+    private static class Recorder implements Flow.Subscriber<SolveEvent> {
+
+        private final long initialRequest;
+
+        private final List<SolveEvent> events = new ArrayList<>();
+
+        private final CountDownLatch firstEvent = new CountDownLatch(1);
+
+        private final CountDownLatch terminated = new CountDownLatch(1);
+
+        private volatile Flow.Subscription subscription;
+
+        private long requested;
+
+        private volatile boolean completed;
+
+        private volatile Throwable error;
+
+        private volatile boolean excess;
+
+        Recorder(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        synchronized void request(long n) {
+            requested += n;
+            subscription.request(n);
+        }
+
+        synchronized List<SolveEvent> events() {
+            return new ArrayList<>(events);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest != 0) {
+                request(initialRequest);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(SolveEvent item) {
+            events.add(item);
+            excess |= (events.size() > requested);
+            firstEvent.countDown();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        void awaitTermination() throws InterruptedException {
+            assertTrue(terminated.await(30, TimeUnit.SECONDS), "no terminal signal");
+        }
+    }
+
+    private static PuzzleBoard shuffled(long seed) {
+        PuzzleBoard board = new PuzzleBoard(4);
+        board.shuffle(new Random(seed), 60);
+        return board;
+    }
+
+    @Test
+    void eventsNeverExceedDemand() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            StreamingSolver streaming = new StreamingSolver(executor, Duration.ofMillis(1));
+            Recorder recorder = new Recorder(1);
+            streaming.solve(new PuzzleBoard(4, SLOW_BOARD)).subscribe(recorder);
+            assertTrue(recorder.firstEvent.await(30, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            assertEquals(1, recorder.events().size());
+            recorder.request(2);
+            Thread.sleep(200);
+            assertEquals(3, recorder.events().size());
+            recorder.subscription.cancel();
+            assertFalse(recorder.excess);
+            assertNull(recorder.error);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void secondSubscriberGetsAnError() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PuzzleBoard board = shuffled(2);
+            Flow.Publisher<SolveEvent> publisher = new StreamingSolver(executor).solve(board);
+            Recorder first = new Recorder(Long.MAX_VALUE);
+            Recorder second = new Recorder(Long.MAX_VALUE);
+            publisher.subscribe(first);
+            publisher.subscribe(second);
+            second.awaitTermination();
+            assertNotNull(second.subscription);
+            assertInstanceOf(IllegalStateException.class, second.error);
+            assertTrue(second.events().isEmpty());
+            first.awaitTermination();
+            assertTrue(first.completed);
+            List<SolveEvent> events = first.events();
+            SolveEvent.Solved solved = assertInstanceOf(SolveEvent.Solved.class, events.get(events.size() - 1));
+            int[] tiles = board.toArray();
+            Moves.apply(tiles, 4, solved.solution());
+            assertArrayEquals(new PuzzleBoard(4).toArray(), tiles);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void unsolvableBoardGetsAnError() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            int[] tiles = new PuzzleBoard(4).toArray();
+            tiles[0] = 2;
+            tiles[1] = 1;
+            Recorder recorder = new Recorder(Long.MAX_VALUE);
+            new StreamingSolver(executor).solve(new PuzzleBoard(4, tiles)).subscribe(recorder);
+            recorder.awaitTermination();
+            assertInstanceOf(IllegalArgumentException.class, recorder.error);
+            assertFalse(recorder.completed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cancelFreesTheSearchThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Recorder recorder = new Recorder(Long.MAX_VALUE);
+            new StreamingSolver(executor).solve(new PuzzleBoard(4, SLOW_BOARD)).subscribe(recorder);
+            assertTrue(recorder.firstEvent.await(30, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            recorder.subscription.cancel();
+            // the executor has a single thread, still busy unless the search stopped
+            Future<?> next = executor.submit(() -> {
+            });
+            next.get(1, TimeUnit.SECONDS);
+            assertFalse(recorder.completed);
+            assertNull(recorder.error);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void nonPositiveRequestGetsAnError() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Recorder recorder = new Recorder(0);
+            new StreamingSolver(executor).solve(new PuzzleBoard(4, SLOW_BOARD)).subscribe(recorder);
+            recorder.subscription.request(0);
+            recorder.awaitTermination();
+            assertInstanceOf(IllegalArgumentException.class, recorder.error);
+            assertTrue(recorder.events().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectedSearchGetsAnError() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        new StreamingSolver(executor).solve(shuffled(3)).subscribe(recorder);
+        recorder.awaitTermination();
+        assertNotNull(recorder.subscription);
+        assertInstanceOf(RejectedExecutionException.class, recorder.error);
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+
+/**
+ * An immutable and compact copy of the state of a hosted game. Boards whose size is
+ * at most {@link PuzzleBoard#MAX_PACKED_SIZE} are stored in a single long value,
+ * larger ones in one byte per cell.
+ */
+public final class BoardSnapshot {
+
+    private final int size;
+
+    private final long packed;
+
+    private final byte[] tiles;
+
+    private final int moves;
+
+    private final boolean solved;
+
+    BoardSnapshot(PuzzleBoard board, int moves) {
+        this.size = board.getSize();
+        if (size <= PuzzleBoard.MAX_PACKED_SIZE) {
+            this.packed = board.pack();
+            this.tiles = null;
+        } else {
+            int[] values = board.toArray();
+            this.packed = 0;
+            this.tiles = new byte[values.length];
+            for (int i = 0; i < values.length; i++) {
+                tiles[i] = (byte) values[i];
+            }
+        }
+        this.moves = moves;
+        this.solved = board.solved();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of legal moves performed in the game.
+     *
+     * @return the number of legal moves performed in the game.
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    public boolean solved() {
+        return solved;
+    }
+
+    /**
+     * Returns the value of the cell at the given row and column.
+     *
+     * @param x a row.
+     * @param y a column.
+     * @return the value of the cell at the given row and column.
+     */
+    public int get(int x, int y) {
+        int i = x * size + y;
+        if (tiles == null) {
+            return (int) (packed >>> (4 * i)) & 0xF;
+        }
+        return tiles[i] & 0xFF;
+    }
+
+    /**
+     * Returns a new board in the state of this snapshot.
+     *
+     * @return a new board in the state of this snapshot.
+     */
+    public PuzzleBoard toBoard() {
+        if (tiles == null) {
+            return PuzzleBoard.unpack(size, packed);
+        }
+        int[] values = new int[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            values[i] = tiles[i] & 0xFF;
+        }
+        return new PuzzleBoard(size, values);
+    }
+
+}
@@ -26,14 +26,22 @@
 package it.unicam.cs.slidingpuzzle.app;
 
 import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
-import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
 
 import java.util.Scanner;
 
 public class ConsoleApp {
 
+    /**
+     * Default number of random moves used to shuffle the board.
+     */
+    public static final int DEFAULT_SHUFFLE_MOVES = 200;
+
     private final PuzzleBoard board;
 
+    private final GameSession session;
+
+    private final int shuffleMoves;
+
     private final Scanner input = new Scanner(System.in);
 
     public ConsoleApp() {
@@ -41,7 +49,13 @@ public class ConsoleApp {
     }
 
     public ConsoleApp(int size) {
+        this(size, DEFAULT_SHUFFLE_MOVES);
+    }
+
+    public ConsoleApp(int size, int shuffleMoves) {
         this.board = new PuzzleBoard(size);
+        this.session = new GameSession(board);
+        this.shuffleMoves = shuffleMoves;
     }
 
 
@@ -72,48 +86,22 @@ public class ConsoleApp {
     }
 
     public void start() {
-        board.shuffle(200);
-        int movesCounter = 0;
-        while (!board.solved()) {
+        board.shuffle(shuffleMoves);
+        while (!session.solved()) {
             printBoard();
-            if (doAction()) {
-                movesCounter++;
-            }
+            doAction();
         }
-        System.out.printf("Well done! You solved the puzzle with %d moves!\n", movesCounter);
+        System.out.printf("Well done! You solved the puzzle with %d moves!\n", session.getMovesCounter());
     }
 
-    private boolean doAction() {
+    private void doAction() {
         System.out.println("Enter your move (u, d, l, r):  ");
         System.out.flush();
-        boolean flag = true;
-        boolean rightCommand = true;
-        String command = input.nextLine();
-        switch (command.charAt(0)) {
-            case 'u':
-                flag = board.move(SlidingDirection.UP);
-                break;
-            case 'd':
-                flag = board.move(SlidingDirection.DOWN);
-                break;
-            case 'l':
-                flag = board.move(SlidingDirection.LEFT);
-                break;
-            case 'r':
-                flag = board.move(SlidingDirection.RIGHT);
-                break;
-            default:
-                rightCommand = false;
-        }
-        if (!flag) {
-            System.out.println("\n\nERROR: Illegal move!\n\n");
-            return false;
-        }
-        if (!rightCommand) {
-            System.out.println("Illegal command!");
-            return false;
+        switch (session.execute(input.nextLine())) {
+            case ILLEGAL_MOVE -> System.out.println("\n\nERROR: Illegal move!\n\n");
+            case ILLEGAL_COMMAND -> System.out.println("Illegal command!");
+            default -> { }
         }
-        return true;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,530 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import it.unicam.cs.slidingpuzzle.api.solver.BoardAnalyzer;
+import it.unicam.cs.slidingpuzzle.api.solver.Heuristics;
+import it.unicam.cs.slidingpuzzle.api.solver.IdaStarSolver;
+import it.unicam.cs.slidingpuzzle.api.solver.Moves;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Solves boards with iterative deepening A* spread over {@link SolverWorker} processes
+ * connected by TCP. The search tree is cut at the first depth with enough boards to
+ * keep all the workers busy, and each board at that depth becomes a job. For each cost
+ * bound the new bound is broadcast to the workers, then the jobs are handed out one at
+ * a time to idle workers. The first solution found ends the solve and the other
+ * workers are told to stop.
+ * <p>
+ * Workers send a heartbeat while a job runs. A worker which neither replies nor sends
+ * a heartbeat within the read timeout is considered lost, as a worker whose connection
+ * is closed: the connection is dropped and its running job is handed to another
+ * worker. A job failing on a live worker is retried on another one a few times before
+ * the solve fails.
+ */
+public class DistributedSolver implements AutoCloseable {
+
+    /**
+     * Minimum number of jobs per worker connection, to balance uneven subtrees.
+     */
+    private static final int JOBS_PER_WORKER = 16;
+
+    /**
+     * Default time to wait for a message from a worker running a job.
+     */
+    public static final Duration DEFAULT_READ_TIMEOUT = SolverProtocol.HEARTBEAT_INTERVAL.multipliedBy(10);
+
+    /**
+     * Number of times a job may fail on live workers before the solve fails.
+     */
+    private static final int MAX_FAILURES = 3;
+
+    private static final Job STOP = new Job(-1, -1, null, 0);
+
+    private final List<WorkerLink> links = new ArrayList<>();
+
+    private final BlockingQueue<Job> jobs = new LinkedBlockingQueue<>();
+
+    private final BlockingQueue<JobResult> results = new LinkedBlockingQueue<>();
+
+    private final AtomicLong solveIds = new AtomicLong();
+
+    private final int readTimeout;
+
+    private long nodes;
+
+    /**
+     * Connects to the given workers with the default read timeout. An address may
+     * appear more than once to run as many jobs at the same time on that worker.
+     *
+     * @param workers the addresses of the workers.
+     * @throws IOException if a worker cannot be reached.
+     */
+    public DistributedSolver(List<InetSocketAddress> workers) throws IOException {
+        this(workers, DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * Connects to the given workers. An address may appear more than once to run as
+     * many jobs at the same time on that worker.
+     *
+     * @param workers the addresses of the workers.
+     * @param readTimeout time to wait for a message from a worker running a job, which
+     *                    must be longer than the heartbeat interval of the workers.
+     * @throws IOException if a worker cannot be reached.
+     */
+    public DistributedSolver(List<InetSocketAddress> workers, Duration readTimeout) throws IOException {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker is needed");
+        }
+        if (readTimeout.compareTo(SolverProtocol.HEARTBEAT_INTERVAL) <= 0) {
+            throw new IllegalArgumentException("The read timeout must be longer than the heartbeat interval");
+        }
+        this.readTimeout = (int) Math.min(Integer.MAX_VALUE, readTimeout.toMillis());
+        try {
+            for (InetSocketAddress address : workers) {
+                links.add(new WorkerLink(address));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        links.forEach(WorkerLink::start);
+    }
+
+    /**
+     * Returns an optimal sequence of moves solving the given board.
+     *
+     * @param board a board, which is not modified.
+     * @return an optimal sequence of moves solving the board.
+     * @throws IllegalArgumentException if the board cannot be solved.
+     * @throws IOException if all the workers have been lost, or a job failed on too
+     *                     many workers.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    public SlidingDirection[] solve(PuzzleBoard board) throws IOException, InterruptedException {
+        int size = board.getSize();
+        int[] tiles = board.toArray();
+        if (!BoardAnalyzer.isSolvable(tiles, size)) {
+            throw new IllegalArgumentException("The board cannot be solved");
+        }
+        nodes = 0;
+        requireWorkers();
+        long solveId = solveIds.incrementAndGet();
+        List<SlidingDirection[]> frontier = new ArrayList<>();
+        SlidingDirection[] shallow = split(tiles, size, JOBS_PER_WORKER * links.size(), frontier);
+        if (shallow != null) {
+            return shallow;
+        }
+        broadcast(out -> {
+            out.writeByte(SolverProtocol.PROBLEM);
+            out.writeLong(solveId);
+            out.writeInt(size);
+            for (int n : tiles) {
+                out.writeByte(n);
+            }
+        });
+        int bound = Heuristics.estimate(tiles, size);
+        while (true) {
+            int iterationBound = bound;
+            broadcast(out -> {
+                out.writeByte(SolverProtocol.BOUND);
+                out.writeLong(solveId);
+                out.writeInt(iterationBound);
+            });
+            // jobs queued with no link left would never be taken
+            requireWorkers();
+            for (int i = 0; i < frontier.size(); i++) {
+                jobs.add(new Job(solveId, i, frontier.get(i), 0));
+            }
+            int pending = frontier.size();
+            int next = Integer.MAX_VALUE;
+            while (pending > 0) {
+                JobResult result = results.take();
+                if (result.job.solveId != solveId) {
+                    continue;
+                }
+                if ((result.nextBound == IdaStarSolver.ABORTED) || (result.nodes < 0)) {
+                    // the worker has been lost, or the job has failed on a live worker
+                    requireWorkers();
+                    Job job = result.job;
+                    if (result.nodes >= 0) {
+                        job = new Job(job.solveId, job.id, job.prefix, job.failures + 1);
+                        if (job.failures >= MAX_FAILURES) {
+                            jobs.clear();
+                            throw new IOException("Job " + job.id + " failed on " + MAX_FAILURES + " workers");
+                        }
+                    }
+                    jobs.add(job);
+                    continue;
+                }
+                pending--;
+                nodes += result.nodes;
+                if (result.solution != null) {
+                    jobs.clear();
+                    broadcast(out -> {
+                        out.writeByte(SolverProtocol.CANCEL);
+                        out.writeLong(solveId);
+                    });
+                    return result.solution;
+                }
+                next = Math.min(next, result.nextBound);
+            }
+            bound = next;
+        }
+    }
+
+    /**
+     * Throws an exception if all the worker connections have been lost, dropping the
+     * jobs still queued.
+     */
+    private void requireWorkers() throws IOException {
+        if (aliveWorkers() == 0) {
+            jobs.clear();
+            throw new IOException("All the workers have been lost");
+        }
+    }
+
+    /**
+     * Returns the number of nodes expanded by the workers during the last solve,
+     * excluding the jobs stopped early.
+     *
+     * @return the number of nodes expanded during the last solve.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of worker connections still alive.
+     *
+     * @return the number of worker connections still alive.
+     */
+    public int aliveWorkers() {
+        return (int) links.stream().filter(WorkerLink::alive).count();
+    }
+
+    @Override
+    public void close() {
+        for (WorkerLink link : links) {
+            jobs.add(STOP);
+            link.close();
+        }
+    }
+
+    /**
+     * Expands the tree breadth first until a level holds at least the given number of
+     * boards, which are added to frontier as the moves leading to them. Boards at the
+     * same depth are all checked before going deeper, so the first solved board met is
+     * reached by an optimal sequence of moves.
+     *
+     * @return the moves leading to a solved board met during the expansion, or null.
+     */
+    private static SlidingDirection[] split(int[] tiles, int size, int jobs, List<SlidingDirection[]> frontier) {
+        frontier.add(new SlidingDirection[0]);
+        if (Heuristics.manhattan(tiles, size) == 0) {
+            return frontier.get(0);
+        }
+        while (frontier.size() < jobs) {
+            List<SlidingDirection[]> next = new ArrayList<>();
+            for (SlidingDirection[] prefix : frontier) {
+                int[] board = tiles.clone();
+                int blank = Moves.apply(board, size, prefix);
+                for (SlidingDirection dir : SlidingDirection.values()) {
+                    if ((prefix.length > 0) && (prefix[prefix.length - 1].reverse() == dir)) {
+                        continue;
+                    }
+                    int cell = Moves.movingCell(blank, dir, size);
+                    if (cell < 0) {
+                        continue;
+                    }
+                    SlidingDirection[] child = Arrays.copyOf(prefix, prefix.length + 1);
+                    child[prefix.length] = dir;
+                    board[blank] = board[cell];
+                    board[cell] = 0;
+                    boolean solved = (Heuristics.manhattan(board, size) == 0);
+                    board[cell] = board[blank];
+                    board[blank] = 0;
+                    if (solved) {
+                        return child;
+                    }
+                    next.add(child);
+                }
+            }
+            frontier.clear();
+            frontier.addAll(next);
+        }
+        return null;
+    }
+
+    private void broadcast(Message message) {
+        for (WorkerLink link : links) {
+            link.send(message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Message {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * A subtree to search, with the number of times it has failed on live workers.
+     */
+    private record Job(long solveId, int id, SlidingDirection[] prefix, int failures) {
+    }
+
+    /**
+     * The outcome of a job. Negative nodes mean that the worker running the job has
+     * been lost, or has not replied within the read timeout.
+     */
+    private record JobResult(Job job, long nodes, int nextBound, SlidingDirection[] solution) {
+    }
+
+    /**
+     * A connection with a worker, served by a thread that takes jobs from the shared
+     * queue and waits for their results.
+     */
+    private class WorkerLink {
+
+        private final Socket socket;
+
+        private final DataInputStream in;
+
+        private final DataOutputStream out;
+
+        private final Thread thread;
+
+        private volatile boolean alive = true;
+
+        WorkerLink(InetSocketAddress address) throws IOException {
+            socket = new Socket();
+            socket.connect(address, readTimeout);
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.setSoTimeout(readTimeout);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            thread = new Thread(this::run, "coordinator-" + address);
+            thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        boolean alive() {
+            return alive;
+        }
+
+        /**
+         * Sends a message, marking the link as lost on failure.
+         */
+        boolean send(Message message) {
+            if (!alive) {
+                return false;
+            }
+            try {
+                synchronized (out) {
+                    message.writeTo(out);
+                    out.flush();
+                }
+                return true;
+            } catch (IOException e) {
+                close();
+                return false;
+            }
+        }
+
+        private void run() {
+            while (alive) {
+                Job job;
+                try {
+                    job = jobs.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (job == STOP) {
+                    return;
+                }
+                boolean sent = send(out -> {
+                    out.writeByte(SolverProtocol.JOB);
+                    out.writeLong(job.solveId);
+                    out.writeInt(job.id);
+                    SolverProtocol.writeMoves(out, job.prefix);
+                });
+                JobResult result = (sent ? receive(job) : null);
+                results.add(result != null ? result : new JobResult(job, -1, IdaStarSolver.ABORTED, null));
+            }
+        }
+
+        /**
+         * Waits for the result of the given job, skipping heartbeats. Any read waits
+         * at most the read timeout, so a worker which has stopped sending heartbeats
+         * is dropped.
+         *
+         * @return the result of the job, or null if the worker has been lost.
+         */
+        private JobResult receive(Job job) {
+            try {
+                while (true) {
+                    byte code = in.readByte();
+                    long solveId = in.readLong();
+                    int id = in.readInt();
+                    if (code == SolverProtocol.HEARTBEAT) {
+                        in.readLong();
+                        continue;
+                    }
+                    if (code != SolverProtocol.RESULT) {
+                        throw new IOException("Unexpected message " + code);
+                    }
+                    long nodes = in.readLong();
+                    int nextBound = in.readInt();
+                    SlidingDirection[] solution = SolverProtocol.readMoves(in);
+                    if ((solveId == job.solveId) && (id == job.id)) {
+                        return new JobResult(job, nodes, nextBound, solution);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                return null;
+            }
+        }
+
+        void close() {
+            alive = false;
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Solves a random board.
+     * <p>
+     * Usage: DistributedSolver [--local workers] [--size size] [--shuffle moves] [--seed seed]
+     * [--timeout seconds] [host:port ...]
+     * <p>
+     * With --local the given number of worker processes is started on this machine
+     * and stopped at the end. --timeout sets the read timeout.
+     */
+    public static void main(String[] args) throws Exception {
+        int local = 0;
+        int size = PuzzleBoard.DEFAULT_SIZE;
+        int shuffle = ConsoleApp.DEFAULT_SHUFFLE_MOVES;
+        long seed = System.nanoTime();
+        Duration timeout = DEFAULT_READ_TIMEOUT;
+        List<InetSocketAddress> workers = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--local" -> local = Integer.parseInt(args[++i]);
+                case "--size" -> size = Integer.parseInt(args[++i]);
+                case "--shuffle" -> shuffle = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                default -> {
+                    int colon = args[i].lastIndexOf(':');
+                    workers.add(new InetSocketAddress(args[i].substring(0, colon), Integer.parseInt(args[i].substring(colon + 1))));
+                }
+            }
+        }
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (int i = 0; i < local; i++) {
+                int port = freePort();
+                processes.add(startLocalWorker(port));
+                workers.add(new InetSocketAddress("localhost", port));
+            }
+            waitForWorkers(workers);
+            PuzzleBoard board = new PuzzleBoard(size);
+            board.shuffle(new Random(seed), shuffle);
+            try (DistributedSolver solver = new DistributedSolver(workers, timeout)) {
+                long start = System.nanoTime();
+                SlidingDirection[] solution = solver.solve(board);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("Solved in %d moves: %s%n", solution.length, Arrays.toString(solution));
+                System.out.printf("%d nodes in %.3f s (%.0f nodes/s), %d of %d workers alive%n",
+                        solver.getNodes(), seconds, solver.getNodes() / seconds, solver.aliveWorkers(), workers.size());
+            }
+        } finally {
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static Process startLocalWorker(int port) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                SolverWorker.class.getName(), Integer.toString(port))
+                .inheritIO()
+                .start();
+    }
+
+    /**
+     * Waits until all the workers accept connections, for at most ten seconds each.
+     */
+    static void waitForWorkers(List<InetSocketAddress> workers) throws InterruptedException {
+        for (InetSocketAddress address : workers) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                try (Socket socket = new Socket()) {
+                    socket.connect(address, 1000);
+                    break;
+                } catch (IOException e) {
+                    Thread.sleep(100);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many concurrent games in the same JVM. Sessions are spread over a fixed
+ * number of independent maps, so that opening, closing and looking up sessions
+ * never contend on a single lock. Moves are queued in the mailbox of each session
+ * and applied in order by a single writer, see {@link HostedSession}.
+ * <p>
+ * A timer periodically sweeps the sessions: those idle for longer than the
+ * passivation delay release their board and keep only its packed form, those idle
+ * for longer than the expiration delay are closed. A failure while sweeping a session
+ * is reported and does not stop the timer.
+ */
+public class GameHost implements AutoCloseable {
+
+    /**
+     * Default number of shards.
+     */
+    public static final int DEFAULT_SHARDS = 64;
+
+    private final ConcurrentHashMap<Long, HostedSession>[] shards;
+
+    private final Executor executor;
+
+    private final long passivateAfter;
+
+    private final long expireAfter;
+
+    private final AtomicLong nextId = new AtomicLong();
+
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Creates a new host with the default number of shards, applying moves on the
+     * common fork/join pool.
+     *
+     * @param passivateAfter idle time after which a session is packed.
+     * @param expireAfter idle time after which a session is closed.
+     */
+    public GameHost(Duration passivateAfter, Duration expireAfter) {
+        this(DEFAULT_SHARDS, ForkJoinPool.commonPool(), passivateAfter, expireAfter,
+                Duration.ofMillis(Math.max(1, passivateAfter.toMillis() / 2)));
+    }
+
+    /**
+     * Creates a new host.
+     *
+     * @param shards number of maps the sessions are spread over.
+     * @param executor executor used to apply moves.
+     * @param passivateAfter idle time after which a session is packed.
+     * @param expireAfter idle time after which a session is closed.
+     * @param sweepInterval interval between two sweeps of idle sessions.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GameHost(int shards, Executor executor, Duration passivateAfter, Duration expireAfter, Duration sweepInterval) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive");
+        }
+        this.shards = new ConcurrentHashMap[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new ConcurrentHashMap<>();
+        }
+        this.executor = executor;
+        this.passivateAfter = passivateAfter.toNanos();
+        this.expireAfter = expireAfter.toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "game-host-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = sweepInterval.toNanos();
+        timer.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Opens a new session played on the given board. The board is owned by the host
+     * from now on and must not be used by the caller anymore.
+     *
+     * @param board the board of the new session.
+     * @return the identifier of the new session.
+     */
+    public long open(PuzzleBoard board) {
+        long id = nextId.incrementAndGet();
+        shard(id).put(id, new HostedSession(board, executor, System.nanoTime()));
+        return id;
+    }
+
+    /**
+     * Queues a move for the given session. The move is applied asynchronously, after
+     * all the moves previously submitted to the same session.
+     *
+     * @param id a session identifier.
+     * @param dir the direction of the move.
+     * @return false if the session does not exist or has been closed.
+     */
+    public boolean submit(long id, SlidingDirection dir) {
+        HostedSession session = shard(id).get(id);
+        return (session != null) && session.submit(dir, System.nanoTime());
+    }
+
+    /**
+     * Returns the last published state of the given session. This method never waits
+     * for moves being applied.
+     *
+     * @param id a session identifier.
+     * @return the last published state of the session, or null if it does not exist.
+     */
+    public BoardSnapshot snapshot(long id) {
+        HostedSession session = shard(id).get(id);
+        return (session == null ? null : session.snapshot());
+    }
+
+    /**
+     * Closes the given session. Moves still queued may be discarded.
+     *
+     * @param id a session identifier.
+     * @return true if the session existed.
+     */
+    public boolean close(long id) {
+        HostedSession session = shard(id).remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    /**
+     * Returns the number of open sessions.
+     *
+     * @return the number of open sessions.
+     */
+    public long sessionCount() {
+        long count = 0;
+        for (ConcurrentHashMap<Long, HostedSession> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of open sessions whose board is currently packed.
+     *
+     * @return the number of open sessions whose board is currently packed.
+     */
+    public long dormantCount() {
+        long count = 0;
+        for (ConcurrentHashMap<Long, HostedSession> shard : shards) {
+            for (HostedSession session : shard.values()) {
+                if (session.dormant()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stops the sweeping timer. Open sessions are left untouched.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private ConcurrentHashMap<Long, HostedSession> shard(long id) {
+        return shards[(int) Long.remainderUnsigned(id * 0x9E3779B97F4A7C15L, shards.length)];
+    }
+
+    /**
+     * Sweeps all the sessions. Any exception escaping this method would cancel the
+     * periodic task, so failures are caught for each session.
+     */
+    private void sweep() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<Long, HostedSession> shard : shards) {
+            Iterator<HostedSession> it = shard.values().iterator();
+            while (it.hasNext()) {
+                HostedSession session = it.next();
+                try {
+                    long idle = now - session.lastAccess();
+                    if (idle > expireAfter) {
+                        it.remove();
+                        session.close();
+                    } else if ((idle > passivateAfter) && !session.dormant()) {
+                        session.requestPassivation();
+                    }
+                } catch (RuntimeException e) {
+                    System.err.printf("Sweeping of a session failed: %s%n", e);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+/**
+ * A game played on a {@link PuzzleBoard} without any user interface. Commands are
+ * the same accepted by {@link ConsoleApp} (u, d, l, r) and can be supplied one at a
+ * time or read from a {@link CommandSource}.
+ */
+public class GameSession {
+
+    /**
+     * The outcome of a single command.
+     */
+    public enum Outcome {
+        MOVED,
+        ILLEGAL_MOVE,
+        ILLEGAL_COMMAND
+    }
+
+    private final PuzzleBoard board;
+
+    private int movesCounter;
+
+    /**
+     * Creates a new session played on the given board.
+     *
+     * @param board the board of this session.
+     */
+    public GameSession(PuzzleBoard board) {
+        this.board = board;
+    }
+
+    public PuzzleBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the number of legal moves performed in this session.
+     *
+     * @return the number of legal moves performed in this session.
+     */
+    public int getMovesCounter() {
+        return movesCounter;
+    }
+
+    public boolean solved() {
+        return board.solved();
+    }
+
+    /**
+     * Executes the given command on the board of this session.
+     *
+     * @param command a command.
+     * @return the outcome of the command.
+     */
+    public Outcome execute(String command) {
+        SlidingDirection dir = parse(command);
+        if (dir == null) {
+            return Outcome.ILLEGAL_COMMAND;
+        }
+        if (!board.move(dir)) {
+            return Outcome.ILLEGAL_MOVE;
+        }
+        movesCounter++;
+        return Outcome.MOVED;
+    }
+
+    /**
+     * Executes the commands of the given source until either the puzzle is solved
+     * or the source has no more commands.
+     *
+     * @param source the source of commands.
+     * @return true if the puzzle has been solved.
+     */
+    public boolean play(CommandSource source) {
+        while (!board.solved()) {
+            String command = source.nextCommand();
+            if (command == null) {
+                return false;
+            }
+            execute(command);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the direction associated with the given command.
+     *
+     * @param command a command.
+     * @return the direction associated with the given command, or null if the
+     * command is not valid.
+     */
+    public static SlidingDirection parse(String command) {
+        if ((command == null) || command.isEmpty()) {
+            return null;
+        }
+        return switch (command.charAt(0)) {
+            case 'u' -> SlidingDirection.UP;
+            case 'd' -> SlidingDirection.DOWN;
+            case 'l' -> SlidingDirection.LEFT;
+            case 'r' -> SlidingDirection.RIGHT;
+            default -> null;
+        };
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A game hosted by a {@link GameHost}. Moves can be submitted by any thread and are
+ * queued in a mailbox; at most one task at a time drains the mailbox, so the board is
+ * only ever touched by a single writer and moves are applied in submission order.
+ * After each drain the state is published as a {@link BoardSnapshot}, which readers
+ * access without synchronization. An idle session drops its board and keeps only the
+ * snapshot until the next move arrives.
+ * <p>
+ * When the executor rejects a drain, the mailbox is drained by the calling thread
+ * instead, so that a saturated or shut down executor never leaves moves queued
+ * forever.
+ */
+class HostedSession {
+
+    /**
+     * Maximum number of moves applied by a drain before yielding the executor.
+     */
+    private static final int DRAIN_BATCH = 256;
+
+    private static final VarHandle WIP;
+
+    static {
+        try {
+            WIP = MethodHandles.lookup().findVarHandle(HostedSession.class, "wip", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConcurrentLinkedQueue<SlidingDirection> mailbox = new ConcurrentLinkedQueue<>();
+
+    private final Executor executor;
+
+    /**
+     * The live board, accessed only by the draining task. It is null while dormant.
+     */
+    private PuzzleBoard board;
+
+    private int moves;
+
+    private volatile BoardSnapshot snapshot;
+
+    private volatile long lastAccess;
+
+    private volatile boolean passivationRequested;
+
+    private volatile boolean dormant;
+
+    private volatile boolean closed;
+
+    @SuppressWarnings("unused")
+    private volatile int wip;
+
+    HostedSession(PuzzleBoard board, Executor executor, long now) {
+        this.board = board;
+        this.executor = executor;
+        this.snapshot = new BoardSnapshot(board, 0);
+        this.lastAccess = now;
+    }
+
+    boolean submit(SlidingDirection dir, long now) {
+        if (closed) {
+            return false;
+        }
+        lastAccess = now;
+        mailbox.offer(dir);
+        schedule();
+        return true;
+    }
+
+    BoardSnapshot snapshot() {
+        return snapshot;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Returns true if this session currently holds its board only in packed form.
+     */
+    boolean dormant() {
+        return dormant;
+    }
+
+    void requestPassivation() {
+        passivationRequested = true;
+        schedule();
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    private void schedule() {
+        if ((int) WIP.getAndAdd(this, 1) == 0) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Runs a drain on the executor or, if it is rejected, in the calling thread. The
+     * caller must own the drain, that is it must have moved wip away from zero.
+     */
+    private void dispatch() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        for (;;) {
+            int applied = 0;
+            SlidingDirection dir;
+            while ((applied < DRAIN_BATCH) && ((dir = mailbox.poll()) != null)) {
+                apply(dir);
+                applied++;
+            }
+            if (applied > 0) {
+                snapshot = new BoardSnapshot(board, moves);
+            }
+            if (applied == DRAIN_BATCH) {
+                try {
+                    executor.execute(this::drain);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    continue;
+                }
+            }
+            if (passivationRequested) {
+                passivationRequested = false;
+                if (mailbox.isEmpty()) {
+                    board = null;
+                    dormant = true;
+                }
+            }
+            missed = (int) WIP.getAndAdd(this, -missed) - missed;
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void apply(SlidingDirection dir) {
+        if (board == null) {
+            board = snapshot.toBoard();
+            dormant = false;
+        }
+        if (board.move(dir)) {
+            moves++;
+        }
+    }
+
+}
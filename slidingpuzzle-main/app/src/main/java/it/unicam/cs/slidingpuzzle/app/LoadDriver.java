@@ -0,0 +1,308 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many concurrent headless {@link GameSession}s fed by random commands and
+ * reports the sustained throughput together with the garbage collector activity and
+ * the bytes allocated by the sessions. Each session runs in its own thread: virtual
+ * threads are used when the running JVM supports them, platform threads otherwise.
+ * <p>
+ * A session throwing an exception is counted as failed and does not contribute to the
+ * throughput; the first failure is kept in the report.
+ */
+public class LoadDriver {
+
+    private static final String COMMANDS = "udlr";
+
+    private final int sessions;
+
+    private final int movesPerSession;
+
+    private final int movesPerSecond;
+
+    private final int size;
+
+    private final int shuffleMoves;
+
+    private final long seed;
+
+    /**
+     * Creates a new driver.
+     *
+     * @param sessions number of concurrent sessions.
+     * @param movesPerSession maximum number of commands sent to each session.
+     * @param movesPerSecond commands sent per second by each session, or 0 to send
+     *                       them as fast as possible.
+     * @param size size of the boards.
+     * @param shuffleMoves number of random moves used to shuffle each board.
+     * @param seed seed used to generate boards and commands.
+     */
+    public LoadDriver(int sessions, int movesPerSession, int movesPerSecond, int size, int shuffleMoves, long seed) {
+        if ((sessions <= 0) || (movesPerSession < 0) || (movesPerSecond < 0)) {
+            throw new IllegalArgumentException("Sessions must be positive, moves and rate non negative");
+        }
+        this.sessions = sessions;
+        this.movesPerSession = movesPerSession;
+        this.movesPerSecond = movesPerSecond;
+        this.size = size;
+        this.shuffleMoves = shuffleMoves;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs all the sessions and waits for their termination.
+     *
+     * @return the report of the run.
+     * @throws InterruptedException if interrupted while waiting for the sessions.
+     */
+    public Report run() throws InterruptedException {
+        AtomicLong commands = new AtomicLong();
+        AtomicLong moves = new AtomicLong();
+        AtomicLong solved = new AtomicLong();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        AtomicBoolean unmeasured = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long gcCount = gcCount();
+        long gcTime = gcTime();
+        long totalAllocated = totalAllocatedBytes();
+        long start = System.nanoTime();
+        ExecutorService executor = newSessionExecutor();
+        for (int i = 0; i < sessions; i++) {
+            SplittableRandom random = new SplittableRandom(seed + i);
+            executor.execute(() -> {
+                long before = (totalAllocated < 0 ? currentThreadAllocatedBytes() : -1);
+                try {
+                    RandomCommandSource source = new RandomCommandSource(random, movesPerSession, movesPerSecond);
+                    GameSession session = new GameSession(newBoard(random));
+                    if (session.play(source)) {
+                        solved.incrementAndGet();
+                    }
+                    commands.addAndGet(source.sent);
+                    moves.addAndGet(session.getMovesCounter());
+                    completed.incrementAndGet();
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    long after = currentThreadAllocatedBytes();
+                    if ((before >= 0) && (after >= 0)) {
+                        allocated.addAndGet(after - before);
+                    } else if (totalAllocated < 0) {
+                        unmeasured.set(true);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        long elapsed = System.nanoTime() - start;
+        long allocatedBytes = (totalAllocated >= 0 ? totalAllocatedBytes() - totalAllocated : (unmeasured.get() ? -1 : allocated.get()));
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        return new Report(sessions, completed.get(), sessions - completed.get(), solved.get(), commands.get(),
+                moves.get(), elapsed, gcCount() - gcCount, gcTime() - gcTime, allocatedBytes,
+                memory.getHeapMemoryUsage().getUsed(), failure.get());
+    }
+
+    private PuzzleBoard newBoard(SplittableRandom random) {
+        PuzzleBoard board = new PuzzleBoard(size);
+        board.shuffle(new Random(random.nextLong()), shuffleMoves);
+        return board;
+    }
+
+    /**
+     * Returns an executor running each task in a new virtual thread, falling back to
+     * platform threads when virtual threads are not available.
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Returns the bytes allocated by all the threads since the start of the JVM, or -1
+     * if the running JVM cannot measure them. The measure includes terminated threads,
+     * and the allocations of virtual threads are charged to their carrier threads.
+     */
+    private static long totalAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        try {
+            Method total = com.sun.management.ThreadMXBean.class.getMethod("getTotalThreadAllocatedBytes");
+            return (Long) total.invoke(threads);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread, or -1 if they cannot be
+     * measured, as for virtual threads.
+     */
+    private static long currentThreadAllocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean sun) {
+            return sun.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * A source producing a bounded number of random commands at a fixed rate.
+     */
+    private static class RandomCommandSource implements CommandSource {
+
+        private final SplittableRandom random;
+
+        private final int limit;
+
+        private final long interval;
+
+        private long next;
+
+        private int sent;
+
+        RandomCommandSource(SplittableRandom random, int limit, int movesPerSecond) {
+            this.random = random;
+            this.limit = limit;
+            this.interval = (movesPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / movesPerSecond);
+            this.next = System.nanoTime();
+        }
+
+        @Override
+        public String nextCommand() {
+            if (sent == limit) {
+                return null;
+            }
+            if (interval > 0) {
+                next += interval;
+                long delay = next - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+            }
+            sent++;
+            int i = random.nextInt(COMMANDS.length());
+            return COMMANDS.substring(i, i + 1);
+        }
+    }
+
+    /**
+     * The results of a run of the driver.
+     */
+    public record Report(int sessions, long completed, long failed, long solved, long commands, long moves,
+                         long elapsedNanos, long gcCollections, long gcMillis, long allocatedBytes, long heapUsed,
+                         Throwable firstFailure) {
+
+        public double sessionsPerSecond() {
+            return completed * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns the bytes allocated for each move, or NaN if the allocations could
+         * not be measured.
+         */
+        public double bytesPerMove() {
+            return (allocatedBytes < 0 || moves == 0 ? Double.NaN : (double) allocatedBytes / moves);
+        }
+
+        public double movesPerSecond() {
+            return moves * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sessions: %d (%d completed, %d failed, %d solved) in %.3f s%n"
+                            + "completed sessions/s: %.1f%n"
+                            + "commands: %d, moves: %d, moves/s: %.1f%n"
+                            + "gc: %d collections, %d ms, heap used: %d KiB%n"
+                            + "allocated: %s, %.1f bytes/move",
+                    sessions, completed, failed, solved, elapsedNanos / 1e9, sessionsPerSecond(),
+                    commands, moves, movesPerSecond(), gcCollections, gcMillis, heapUsed / 1024,
+                    (allocatedBytes < 0 ? "n/a" : (allocatedBytes >> 10) + " KiB"), bytesPerMove());
+        }
+    }
+
+    /**
+     * Usage: LoadDriver [sessions] [movesPerSession] [movesPerSecond] [size] [shuffleMoves] [seed]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        LoadDriver driver = new LoadDriver(
+                intArg(args, 0, 10_000),
+                intArg(args, 1, 1_000),
+                intArg(args, 2, 0),
+                intArg(args, 3, PuzzleBoard.DEFAULT_SIZE),
+                intArg(args, 4, ConsoleApp.DEFAULT_SHUFFLE_MOVES),
+                args.length > 5 ? Long.parseLong(args[5]) : 42L);
+        Report report = driver.run();
+        System.out.println(report);
+        if (report.firstFailure() != null) {
+            System.err.println("First session failure:");
+            report.firstFailure().printStackTrace();
+        }
+    }
+
+    private static int intArg(String[] args, int i, int defaultValue) {
+        return (args.length > i ? Integer.parseInt(args[i]) : defaultValue);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The messages exchanged by a {@link DistributedSolver} and its {@link SolverWorker}s.
+ * Every message starts with one of the codes below and carries the identifier of the
+ * solve it belongs to:
+ * <ul>
+ *     <li>PROBLEM: size, cells of the board to solve;</li>
+ *     <li>BOUND: cost bound of the following jobs;</li>
+ *     <li>JOB: job identifier, moves leading to the root of the subtree to search;</li>
+ *     <li>CANCEL: no payload, stops the running job;</li>
+ *     <li>RESULT (from workers): job identifier, expanded nodes, next bound, solution;</li>
+ *     <li>HEARTBEAT (from workers): job identifier, nodes expanded so far. Sent every
+ *     {@link #HEARTBEAT_INTERVAL} while a job runs, so that the coordinator can tell a
+ *     slow job from a hung worker or a lost connection.</li>
+ * </ul>
+ * A worker replies to every job with a RESULT, whose next bound is
+ * {@link it.unicam.cs.slidingpuzzle.api.solver.IdaStarSolver#ABORTED} when the job has
+ * been stopped or has failed.
+ */
+final class SolverProtocol {
+
+    static final byte PROBLEM = 'P';
+
+    static final byte BOUND = 'B';
+
+    static final byte JOB = 'J';
+
+    static final byte CANCEL = 'C';
+
+    static final byte RESULT = 'R';
+
+    static final byte HEARTBEAT = 'H';
+
+    /**
+     * Interval between two heartbeats of a running job.
+     */
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(1);
+
+    private SolverProtocol() {
+    }
+
+    /**
+     * Writes a sequence of moves, or -1 for null.
+     */
+    static void writeMoves(DataOutputStream out, SlidingDirection[] moves) throws IOException {
+        if (moves == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(moves.length);
+        for (SlidingDirection dir : moves) {
+            out.writeByte(dir.ordinal());
+        }
+    }
+
+    static SlidingDirection[] readMoves(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        SlidingDirection[] moves = new SlidingDirection[length];
+        SlidingDirection[] directions = SlidingDirection.values();
+        for (int i = 0; i < length; i++) {
+            moves[i] = directions[in.readUnsignedByte()];
+        }
+        return moves;
+    }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import it.unicam.cs.slidingpuzzle.api.solver.IdaStarSolver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A process searching subtrees on behalf of a {@link DistributedSolver}. Each
+ * connection is served by its own thread and runs one job at a time, so a coordinator
+ * may open several connections to use more cores of the same worker. While a job
+ * runs a heartbeat is sent periodically, and every job gets a result, even when the
+ * search fails.
+ */
+public class SolverWorker {
+
+    private final int port;
+
+    public SolverWorker(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Accepts connections until the process is stopped.
+     *
+     * @throws IOException if the server socket cannot be opened.
+     */
+    public void serve() throws IOException {
+        try (ServerSocket server = new ServerSocket(port)) {
+            System.out.printf("Worker listening on port %d%n", server.getLocalPort());
+            while (true) {
+                Socket socket = server.accept();
+                Thread thread = new Thread(() -> handle(socket), "worker-" + socket.getRemoteSocketAddress());
+                thread.start();
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket; Connection connection = new Connection(socket)) {
+            connection.run();
+        } catch (IOException e) {
+            System.err.printf("Connection with %s lost: %s%n", socket.getRemoteSocketAddress(), e.getMessage());
+        }
+    }
+
+    /**
+     * The state of a connection with a coordinator.
+     */
+    private static class Connection implements AutoCloseable {
+
+        private final DataInputStream in;
+
+        private final DataOutputStream out;
+
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "worker-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+
+        private long solveId = -1;
+
+        private int size;
+
+        private int[] tiles;
+
+        private int bound;
+
+        private volatile IdaStarSolver running;
+
+        private volatile long cancelled = -1;
+
+        private volatile long runningSolve;
+
+        private volatile int runningJob;
+
+        Connection(Socket socket) throws IOException {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            long interval = SolverProtocol.HEARTBEAT_INTERVAL.toNanos();
+            heartbeats.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.NANOSECONDS);
+        }
+
+        void run() throws IOException {
+            while (true) {
+                int code;
+                try {
+                    code = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                long id = in.readLong();
+                switch (code) {
+                    case SolverProtocol.PROBLEM -> {
+                        solveId = id;
+                        size = in.readInt();
+                        tiles = new int[size * size];
+                        for (int i = 0; i < tiles.length; i++) {
+                            tiles[i] = in.readUnsignedByte();
+                        }
+                    }
+                    case SolverProtocol.BOUND -> bound = in.readInt();
+                    case SolverProtocol.JOB -> {
+                        int job = in.readInt();
+                        SlidingDirection[] prefix = SolverProtocol.readMoves(in);
+                        if (id == solveId) {
+                            submit(id, job, prefix, bound);
+                        } else {
+                            reply(id, job, 0, IdaStarSolver.ABORTED, null);
+                        }
+                    }
+                    case SolverProtocol.CANCEL -> {
+                        cancelled = id;
+                        IdaStarSolver solver = running;
+                        if ((id == solveId) && (solver != null)) {
+                            solver.cancel();
+                        }
+                    }
+                    default -> throw new IOException("Unknown message " + code);
+                }
+            }
+        }
+
+        private void submit(long id, int job, SlidingDirection[] prefix, int bound) throws IOException {
+            int[] board = tiles;
+            int boardSize = size;
+            try {
+                executor.execute(() -> runJob(id, job, board, boardSize, prefix, bound));
+            } catch (RejectedExecutionException e) {
+                reply(id, job, 0, IdaStarSolver.ABORTED, null);
+            }
+        }
+
+        private void runJob(long id, int job, int[] board, int boardSize, SlidingDirection[] prefix, int bound) {
+            IdaStarSolver solver = new IdaStarSolver();
+            runningSolve = id;
+            runningJob = job;
+            running = solver;
+            if (cancelled == id) {
+                solver.cancel();
+            }
+            long nodes = 0;
+            int nextBound = IdaStarSolver.ABORTED;
+            SlidingDirection[] solution = null;
+            try {
+                solution = solver.searchSubtree(board, boardSize, prefix, bound);
+                nodes = solver.getNodes();
+                nextBound = solver.getNextBound();
+            } catch (RuntimeException | Error e) {
+                System.err.printf("Job %d of solve %d failed: %s%n", job, id, e);
+            } finally {
+                running = null;
+            }
+            try {
+                reply(id, job, nodes, nextBound, solution);
+            } catch (IOException e) {
+                // the reader thread notices the broken connection
+            }
+        }
+
+        private void heartbeat() {
+            IdaStarSolver solver = running;
+            if (solver == null) {
+                return;
+            }
+            try {
+                synchronized (out) {
+                    out.writeByte(SolverProtocol.HEARTBEAT);
+                    out.writeLong(runningSolve);
+                    out.writeInt(runningJob);
+                    out.writeLong(solver.getNodes());
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // the reader thread notices the broken connection
+            }
+        }
+
+        private void reply(long id, int job, long nodes, int nextBound, SlidingDirection[] solution) throws IOException {
+            synchronized (out) {
+                out.writeByte(SolverProtocol.RESULT);
+                out.writeLong(id);
+                out.writeInt(job);
+                out.writeLong(nodes);
+                out.writeInt(nextBound);
+                SolverProtocol.writeMoves(out, solution);
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() {
+            IdaStarSolver solver = running;
+            if (solver != null) {
+                solver.cancel();
+            }
+            executor.shutdownNow();
+            heartbeats.shutdownNow();
+        }
+    }
+
+    /**
+     * Usage: SolverWorker [port]
+     */
+    public static void main(String[] args) throws IOException {
+        new SolverWorker(args.length > 0 ? Integer.parseInt(args[0]) : 0).serve();
+    }
+
+}
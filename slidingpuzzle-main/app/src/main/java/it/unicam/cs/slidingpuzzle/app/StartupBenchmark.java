@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import it.unicam.cs.slidingpuzzle.api.solver.BoardAnalyzer;
+import it.unicam.cs.slidingpuzzle.api.solver.HintOracle;
+import it.unicam.cs.slidingpuzzle.api.solver.IdaStarSolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures how long a short lived process takes to become useful: the time from the
+ * start of the process to the first move of a game, and to the first solution found by
+ * the solvers, which includes loading their lookup tables.
+ * <p>
+ * With --origin it measures the current process from the given instant, which the
+ * parent process takes just before starting it: the start time reported by the
+ * operating system is not precise enough. With --runs it starts the given number of
+ * fresh processes with the same classpath, with and without the class data sharing
+ * archive given by --archive, and reports the median and minimum times of each
+ * configuration. Run without arguments it only plays the workload, as a training run
+ * for the archive.
+ */
+public class StartupBenchmark {
+
+    private static final String FIRST_MOVE = "time to first move: ";
+
+    private static final String FIRST_SOLUTION = "time to first solution: ";
+
+    private static final long SEED = 42L;
+
+    private static final int SOLVER_SHUFFLE_MOVES = 40;
+
+    private final Instant origin;
+
+    /**
+     * Creates a benchmark measuring times from the given instant.
+     *
+     * @param origin the instant the process has been started, or null to run the
+     *               workload without printing times.
+     */
+    public StartupBenchmark(Instant origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * Plays the first move of a game and then solves a 3x3 board following the hints
+     * and a 4x4 board with the solver, printing the elapsed times if there is an origin.
+     */
+    public void run() {
+        PuzzleBoard board = new PuzzleBoard(PuzzleBoard.DEFAULT_SIZE);
+        board.shuffle(new Random(SEED), ConsoleApp.DEFAULT_SHUFFLE_MOVES);
+        GameSession session = new GameSession(board);
+        for (String command : new String[] {"u", "d", "l", "r"}) {
+            if (session.execute(command) == GameSession.Outcome.MOVED) {
+                break;
+            }
+        }
+        printElapsed(FIRST_MOVE);
+
+        HintOracle oracle = new HintOracle();
+        PuzzleBoard small = new PuzzleBoard(3);
+        small.shuffle(new Random(SEED), ConsoleApp.DEFAULT_SHUFFLE_MOVES);
+        for (SlidingDirection dir = oracle.hint(small); dir != null; dir = oracle.hint(small)) {
+            small.move(dir);
+        }
+        PuzzleBoard large = new PuzzleBoard(4);
+        large.shuffle(new Random(SEED), SOLVER_SHUFFLE_MOVES);
+        BoardAnalyzer.analyze(large);
+        new IdaStarSolver().solve(large);
+        printElapsed(FIRST_SOLUTION);
+    }
+
+    private void printElapsed(String prefix) {
+        if (origin != null) {
+            System.out.printf(Locale.ROOT, "%s%.1f ms%n", prefix, ChronoUnit.MICROS.between(origin, Instant.now()) / 1e3);
+        }
+    }
+
+    /**
+     * Starts the given number of processes with the given JVM options and returns the
+     * times to the first move and to the first solution of each, in milliseconds.
+     */
+    private static double[][] measure(int runs, List<String> jvmOptions) throws IOException, InterruptedException {
+        double[][] times = new double[2][runs];
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        for (int r = 0; r < runs; r++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmOptions);
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), StartupBenchmark.class.getName(), "--origin"));
+            Instant start = Instant.now();
+            command.add(Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH, start)));
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                for (String line = out.readLine(); line != null; line = out.readLine()) {
+                    if (line.startsWith(FIRST_MOVE)) {
+                        times[0][r] = millis(line, FIRST_MOVE);
+                    } else if (line.startsWith(FIRST_SOLUTION)) {
+                        times[1][r] = millis(line, FIRST_SOLUTION);
+                    } else {
+                        System.out.println(line);
+                    }
+                }
+            }
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Benchmark process failed with exit code " + process.exitValue());
+            }
+        }
+        return times;
+    }
+
+    private static double millis(String line, String prefix) {
+        return Double.parseDouble(line.substring(prefix.length(), line.length() - " ms".length()));
+    }
+
+    private static void report(String name, double[][] times) {
+        System.out.printf(Locale.ROOT, "%-8s first move: median %6.1f ms, min %6.1f ms;"
+                        + " first solution: median %6.1f ms, min %6.1f ms%n",
+                name, median(times[0]), min(times[0]), median(times[1]), min(times[1]));
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static double min(double[] values) {
+        return Arrays.stream(values).min().orElse(Double.NaN);
+    }
+
+    /**
+     * Usage: StartupBenchmark [--origin epochMicros] | [--runs runs] [--archive file]
+     * <p>
+     * Without --runs the current process is measured from the given instant; without
+     * --origin too the workload runs without printing times.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Instant origin = null;
+        int runs = 0;
+        String archive = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--origin" -> origin = Instant.EPOCH.plus(Long.parseLong(args[++i]), ChronoUnit.MICROS);
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--archive" -> archive = args[++i];
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (runs == 0) {
+            new StartupBenchmark(origin).run();
+            return;
+        }
+        report("default", measure(runs, List.of()));
+        if (archive != null) {
+            report("appcds", measure(runs, List.of("-XX:SharedArchiveFile=" + archive, "-Xshare:auto")));
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import it.unicam.cs.slidingpuzzle.api.solver.IdaStarSolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a coordinator against worker processes started on this machine.
+ */
+@Timeout(value = 2, unit = TimeUnit.MINUTES)
+class DistributedSolverTest {
+
+    /**
+     * A 4x4 board whose optimal solution has 58 moves, which takes a few seconds.
+     */
+    private static final int[] SLOW_BOARD = {3, 13, 5, 14, 8, 6, 1, 0, 12, 9, 11, 15, 10, 2, 4, 7};
+
+    /**
+     * A 4x4 board whose optimal solution has 53 moves, which takes a fraction of a second.
+     */
+    private static final int[] FAST_BOARD = {10, 1, 9, 14, 3, 15, 12, 8, 11, 2, 5, 4, 7, 13, 0, 6};
+
+    /**
+     * SLOW_BOARD with two cells swapped: a search never finds a solution.
+     */
+    private static final int[] UNSOLVABLE_BOARD = {13, 3, 5, 14, 8, 6, 1, 0, 12, 9, 11, 15, 10, 2, 4, 7};
+
+    private final List<Process> processes = new ArrayList<>();
+
+    private final List<ServerSocket> servers = new ArrayList<>();
+
+    @AfterEach
+    void stopWorkers() throws IOException {
+        processes.forEach(Process::destroyForcibly);
+        for (ServerSocket server : servers) {
+            server.close();
+        }
+    }
+
+    private InetSocketAddress startWorker() throws IOException, InterruptedException {
+        int port = DistributedSolver.freePort();
+        processes.add(DistributedSolver.startLocalWorker(port));
+        InetSocketAddress address = new InetSocketAddress("localhost", port);
+        DistributedSolver.waitForWorkers(List.of(address));
+        return address;
+    }
+
+    /**
+     * Starts a fake worker which accepts connections and reads messages, but never
+     * replies, as a hung process or an unreachable host would.
+     */
+    private InetSocketAddress startHungWorker() throws IOException {
+        ServerSocket server = new ServerSocket(0);
+        servers.add(server);
+        Thread thread = new Thread(() -> {
+            try (Socket socket = server.accept(); InputStream in = socket.getInputStream()) {
+                while (in.read() >= 0) {
+                    // discard
+                }
+            } catch (IOException e) {
+                // closed by the test
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return new InetSocketAddress("localhost", server.getLocalPort());
+    }
+
+    @Test
+    void jobOfKilledWorkerIsRequeued() throws Exception {
+        List<InetSocketAddress> workers = List.of(startWorker(), startWorker());
+        try (DistributedSolver solver = new DistributedSolver(workers)) {
+            CompletableFuture<SlidingDirection[]> solution = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return solver.solve(new PuzzleBoard(4, SLOW_BOARD));
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            Thread.sleep(300);
+            assertFalse(solution.isDone(), "the solve ended before the worker was killed");
+            processes.get(0).destroyForcibly().waitFor();
+            assertEquals(58, solution.get(1, TimeUnit.MINUTES).length);
+            assertEquals(1, solver.aliveWorkers());
+        }
+    }
+
+    @Test
+    void hungWorkerIsDroppedAfterTheReadTimeout() throws Exception {
+        List<InetSocketAddress> workers = List.of(startHungWorker(), startWorker());
+        try (DistributedSolver solver = new DistributedSolver(workers, Duration.ofSeconds(2))) {
+            assertEquals(53, solver.solve(new PuzzleBoard(4, FAST_BOARD)).length);
+            assertEquals(1, solver.aliveWorkers());
+        }
+    }
+
+    @Test
+    void allWorkersHung() throws Exception {
+        try (DistributedSolver solver = new DistributedSolver(List.of(startHungWorker()), Duration.ofSeconds(2))) {
+            assertThrows(IOException.class, () -> solver.solve(new PuzzleBoard(4, FAST_BOARD)));
+            assertEquals(0, solver.aliveWorkers());
+            // with no link left nobody would take the jobs of a new solve
+            assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> assertThrows(IOException.class, () -> solver.solve(new PuzzleBoard(4, FAST_BOARD))));
+        }
+    }
+
+    @Test
+    void runningJobSendsHeartbeatsAndStopsOnCancel() throws Exception {
+        try (Connection connection = new Connection(startWorker())) {
+            connection.problem(1, UNSOLVABLE_BOARD);
+            connection.job(1, 7, new SlidingDirection[0], 80);
+            assertEquals(SolverProtocol.HEARTBEAT, connection.in.readByte());
+            assertEquals(1, connection.in.readLong());
+            assertEquals(7, connection.in.readInt());
+            assertTrue(connection.in.readLong() >= 0);
+            connection.cancel(1);
+            assertEquals(IdaStarSolver.ABORTED, connection.nextBound(7));
+        }
+    }
+
+    @Test
+    void failingJobIsAnsweredWithAbortedResult() throws Exception {
+        try (Connection connection = new Connection(startWorker())) {
+            connection.problem(1, SLOW_BOARD);
+            // the free cell is on the first row, so it cannot move up twice
+            SlidingDirection[] illegal = {SlidingDirection.DOWN, SlidingDirection.DOWN};
+            connection.job(1, 3, illegal, 60);
+            assertEquals(IdaStarSolver.ABORTED, connection.nextBound(3));
+        }
+    }
+
+    /**
+     * A raw connection with a worker.
+     */
+    private static class Connection implements AutoCloseable {
+
+        private final Socket socket;
+
+        private final DataInputStream in;
+
+        private final DataOutputStream out;
+
+        Connection(InetSocketAddress address) throws IOException {
+            socket = new Socket(address.getHostName(), address.getPort());
+            socket.setSoTimeout(30_000);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void problem(long solveId, int[] tiles) throws IOException {
+            out.writeByte(SolverProtocol.PROBLEM);
+            out.writeLong(solveId);
+            out.writeInt((int) Math.sqrt(tiles.length));
+            for (int n : tiles) {
+                out.writeByte(n);
+            }
+            out.flush();
+        }
+
+        void job(long solveId, int job, SlidingDirection[] prefix, int bound) throws IOException {
+            out.writeByte(SolverProtocol.BOUND);
+            out.writeLong(solveId);
+            out.writeInt(bound);
+            out.writeByte(SolverProtocol.JOB);
+            out.writeLong(solveId);
+            out.writeInt(job);
+            SolverProtocol.writeMoves(out, prefix);
+            out.flush();
+        }
+
+        void cancel(long solveId) throws IOException {
+            out.writeByte(SolverProtocol.CANCEL);
+            out.writeLong(solveId);
+            out.flush();
+        }
+
+        /**
+         * Skips heartbeats and returns the next bound of the result of the given job.
+         */
+        int nextBound(int job) throws IOException {
+            while (true) {
+                byte code = in.readByte();
+                in.readLong();
+                assertEquals(job, in.readInt());
+                long nodes = in.readLong();
+                if (code == SolverProtocol.HEARTBEAT) {
+                    continue;
+                }
+                assertEquals(SolverProtocol.RESULT, code);
+                assertTrue(nodes >= 0);
+                int nextBound = in.readInt();
+                assertNull(SolverProtocol.readMoves(in));
+                return nextBound;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+}
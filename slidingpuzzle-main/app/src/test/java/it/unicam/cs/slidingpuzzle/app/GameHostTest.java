@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHostTest {
+
+    private static final Duration LONG = Duration.ofHours(1);
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void assertSameCells(PuzzleBoard expected, BoardSnapshot actual) {
+        for (int i = 0; i < expected.getSize(); i++) {
+            for (int j = 0; j < expected.getSize(); j++) {
+                assertEquals(expected.get(i, j), actual.get(i, j));
+            }
+        }
+    }
+
+    @Test
+    void concurrentSubmitsApplyEachSessionInOrder() throws InterruptedException {
+        int sessions = 64;
+        int moves = 5_000;
+        try (GameHost host = new GameHost(8, ForkJoinPool.commonPool(), LONG, LONG, LONG)) {
+            long[] ids = new long[sessions];
+            PuzzleBoard[] expected = new PuzzleBoard[sessions];
+            int[] legal = new int[sessions];
+            List<Thread> threads = new ArrayList<>();
+            for (int s = 0; s < sessions; s++) {
+                ids[s] = host.open(new PuzzleBoard(4));
+                expected[s] = new PuzzleBoard(4);
+                Random random = new Random(s);
+                SlidingDirection[] sequence = new SlidingDirection[moves];
+                for (int m = 0; m < moves; m++) {
+                    sequence[m] = SlidingDirection.values()[random.nextInt(4)];
+                    if (expected[s].move(sequence[m])) {
+                        legal[s]++;
+                    }
+                }
+                long id = ids[s];
+                threads.add(new Thread(() -> {
+                    for (SlidingDirection dir : sequence) {
+                        assertTrue(host.submit(id, dir));
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (int s = 0; s < sessions; s++) {
+                long id = ids[s];
+                int count = legal[s];
+                await(() -> host.snapshot(id).getMoves() == count, "moves of session " + s + " not applied");
+                assertSameCells(expected[s], host.snapshot(id));
+            }
+        }
+    }
+
+    @Test
+    void idleSessionBecomesDormantAndWakesUpOnNextMove() throws InterruptedException {
+        try (GameHost host = new GameHost(4, ForkJoinPool.commonPool(), Duration.ofMillis(50), LONG, Duration.ofMillis(10))) {
+            long id = host.open(new PuzzleBoard(4));
+            assertTrue(host.submit(id, SlidingDirection.DOWN));
+            await(() -> host.dormantCount() == 1, "session not passivated");
+            assertEquals(1, host.snapshot(id).getMoves());
+            assertTrue(host.submit(id, SlidingDirection.RIGHT));
+            await(() -> host.snapshot(id).getMoves() == 2, "move not applied to the dormant session");
+            PuzzleBoard expected = new PuzzleBoard(4);
+            expected.move(SlidingDirection.DOWN);
+            expected.move(SlidingDirection.RIGHT);
+            assertSameCells(expected, host.snapshot(id));
+            await(() -> host.dormantCount() == 1, "session not passivated again");
+        }
+    }
+
+    @Test
+    void expiredSessionIsClosed() throws InterruptedException {
+        try (GameHost host = new GameHost(4, ForkJoinPool.commonPool(), LONG, Duration.ofMillis(50), Duration.ofMillis(10))) {
+            long id = host.open(new PuzzleBoard(3));
+            await(() -> host.sessionCount() == 0, "session not expired");
+            assertNull(host.snapshot(id));
+            assertFalse(host.submit(id, SlidingDirection.DOWN));
+            assertFalse(host.close(id));
+        }
+    }
+
+    @Test
+    void shutDownExecutorStillAppliesMoves() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        try (GameHost host = new GameHost(4, executor, Duration.ofMillis(50), LONG, Duration.ofMillis(10))) {
+            long id = host.open(new PuzzleBoard(4));
+            assertTrue(host.submit(id, SlidingDirection.DOWN));
+            assertTrue(host.submit(id, SlidingDirection.RIGHT));
+            assertEquals(2, host.snapshot(id).getMoves());
+            await(() -> host.dormantCount() == 1, "sweeper stopped after a rejected drain");
+            assertTrue(host.submit(id, SlidingDirection.LEFT));
+            assertEquals(3, host.snapshot(id).getMoves());
+            assertEquals(0, host.dormantCount());
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package it.unicam.cs.slidingpuzzle.app;
+
+import it.unicam.cs.slidingpuzzle.api.PuzzleBoard;
+import it.unicam.cs.slidingpuzzle.api.SlidingDirection;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSessionTest {
+
+    @Test
+    void shuffleMovesTheBoardAwayFromSolved() {
+        for (int size = 2; size <= 5; size++) {
+            PuzzleBoard board = new PuzzleBoard(size);
+            board.shuffle(new Random(size), ConsoleApp.DEFAULT_SHUFFLE_MOVES);
+            assertFalse(board.solved(), "board of size " + size + " left solved");
+        }
+    }
+
+    @Test
+    void parseMapsCommandsToDirections() {
+        assertEquals(SlidingDirection.UP, GameSession.parse("u"));
+        assertEquals(SlidingDirection.DOWN, GameSession.parse("d"));
+        assertEquals(SlidingDirection.LEFT, GameSession.parse("l"));
+        assertEquals(SlidingDirection.RIGHT, GameSession.parse("r"));
+        assertNull(GameSession.parse(""));
+        assertNull(GameSession.parse(null));
+        assertNull(GameSession.parse("x"));
+    }
+
+    @Test
+    void executeReportsTheOutcome() {
+        // the free cell of a solved board is in the bottom right corner
+        GameSession session = new GameSession(new PuzzleBoard(3));
+        assertEquals(GameSession.Outcome.ILLEGAL_COMMAND, session.execute(""));
+        assertEquals(GameSession.Outcome.ILLEGAL_COMMAND, session.execute("x"));
+        assertEquals(GameSession.Outcome.ILLEGAL_MOVE, session.execute("u"));
+        assertEquals(GameSession.Outcome.ILLEGAL_MOVE, session.execute("l"));
+        assertEquals(0, session.getMovesCounter());
+        assertEquals(GameSession.Outcome.MOVED, session.execute("d"));
+        assertEquals(1, session.getMovesCounter());
+        assertFalse(session.solved());
+    }
+
+    @Test
+    void playStopsWhenSolvedOrOutOfCommands() {
+        GameSession session = new GameSession(new PuzzleBoard(3));
+        session.execute("d");
+        session.execute("r");
+        Iterator<String> commands = List.of("x", "l", "u", "d").iterator();
+        assertTrue(session.play(() -> commands.hasNext() ? commands.next() : null));
+        assertEquals(4, session.getMovesCounter());
+        assertTrue(commands.hasNext());
+        GameSession other = new GameSession(new PuzzleBoard(3));
+        other.execute("d");
+        assertFalse(other.play(() -> null));
+    }
+
+}